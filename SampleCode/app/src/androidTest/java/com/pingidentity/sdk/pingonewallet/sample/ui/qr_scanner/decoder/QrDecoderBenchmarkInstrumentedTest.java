@@ -0,0 +1,86 @@
+package com.pingidentity.sdk.pingonewallet.sample.ui.qr_scanner.decoder;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+// Compares ML Kit and ZXing on the shared fixtures on a real device; results are written to logcat
+@RunWith(AndroidJUnit4.class)
+public class QrDecoderBenchmarkInstrumentedTest {
+
+    private static final String TAG = QrDecoderBenchmarkInstrumentedTest.class.getSimpleName();
+
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int MEASURED_ITERATIONS = 15;
+
+    @Test
+    public void compareEngines() throws InterruptedException {
+        final List<QrDecoder> decoders = Arrays.asList(new MlKitQrDecoder(), new ZxingQrDecoder());
+        try {
+            for (QrFixtures.Fixture fixture : QrFixtures.all()) {
+                for (QrDecoder decoder : decoders) {
+                    benchmark(decoder, fixture);
+                }
+            }
+        } finally {
+            for (QrDecoder decoder : decoders) {
+                decoder.close();
+            }
+        }
+    }
+
+    private void benchmark(QrDecoder decoder, QrFixtures.Fixture fixture) throws InterruptedException {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            decodeBlocking(decoder, fixture.frame);
+        }
+        final long[] samples = new long[MEASURED_ITERATIONS];
+        int successes = 0;
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            final long start = SystemClock.elapsedRealtimeNanos();
+            final List<QrResult> results = decodeBlocking(decoder, fixture.frame);
+            samples[i] = (SystemClock.elapsedRealtimeNanos() - start) / 1000;
+            if (!results.isEmpty() && fixture.expectedText.equals(results.get(0).getRawValue())) {
+                successes++;
+            }
+        }
+        Arrays.sort(samples);
+        Log.i(TAG, String.format("%-28s %-8s success=%3d%% p50=%dus p90=%dus", fixture.name, decoder.getName(),
+                successes * 100 / MEASURED_ITERATIONS, samples[MEASURED_ITERATIONS / 2], samples[MEASURED_ITERATIONS * 9 / 10]));
+    }
+
+    @NonNull
+    private static List<QrResult> decodeBlocking(QrDecoder decoder, LuminanceFrame frame) throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final List<QrResult> decoded = new ArrayList<>();
+        decoder.decode(frame, new QrDecoder.Callback() {
+            @Override
+            public void onDecoded(@NonNull List<QrResult> results) {
+                decoded.addAll(results);
+                latch.countDown();
+            }
+
+            @Override
+            public void onError(@NonNull Exception e) {
+                Log.w(TAG, decoder.getName() + " failed", e);
+                latch.countDown();
+            }
+        });
+        if (!latch.await(5, TimeUnit.SECONDS)) {
+            return Collections.emptyList();
+        }
+        return decoded;
+    }
+
+}
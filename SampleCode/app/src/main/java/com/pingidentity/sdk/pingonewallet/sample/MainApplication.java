@@ -6,11 +6,23 @@ import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 
 import com.pingidentity.sdk.pingonewallet.sample.di.Injector;
+import com.pingidentity.sdk.pingonewallet.sample.network.ConnectivityMonitor;
+import com.pingidentity.sdk.pingonewallet.sample.network.PingOneWalletHelper;
+import com.pingidentity.sdk.pingonewallet.sample.utils.BitmapPool;
+import com.pingidentity.sdk.pingonewallet.sample.utils.CardImageCache;
+import com.pingidentity.sdk.pingonewallet.sample.utils.SvgDocumentCache;
+import com.pingidentity.sdk.pingonewallet.sample.utils.ThumbnailCache;
 
 public class MainApplication extends Application {
 
     private final MutableLiveData<String> receivedUrl = new MutableLiveData<>();
 
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        ConnectivityMonitor.initialize(this, PingOneWalletHelper.PINGONE_HOSTS);
+    }
+
     public void initDagger() {
         Injector.initializeAppComponent();
         Injector.getAppComponent().inject(this);
@@ -24,4 +36,15 @@ public class MainApplication extends Application {
         return receivedUrl;
     }
 
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        if (level >= TRIM_MEMORY_UI_HIDDEN) {
+            BitmapPool.getInstance().clear();
+            SvgDocumentCache.getInstance().clear();
+            CardImageCache.getInstance().clear();
+            ThumbnailCache.getInstance().clear();
+        }
+    }
+
 }
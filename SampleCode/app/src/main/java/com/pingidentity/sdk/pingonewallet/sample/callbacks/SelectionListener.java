@@ -0,0 +1,7 @@
+package com.pingidentity.sdk.pingonewallet.sample.callbacks;
+
+public interface SelectionListener {
+
+    void onSelectionChanged(int selectedCount);
+
+}
@@ -0,0 +1,16 @@
+package com.pingidentity.sdk.pingonewallet.sample.callbacks;
+
+import android.graphics.Bitmap;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.pingidentity.did.sdk.types.Claim;
+import com.pingidentity.sdk.pingonewallet.sample.models.ThumbnailSize;
+
+public interface ThumbnailProvider {
+
+    @Nullable
+    Bitmap getThumbnail(@NonNull Claim claim, @NonNull ThumbnailSize size);
+
+}
@@ -8,8 +8,8 @@ import com.pingidentity.sdk.pingonewallet.sample.storage.data_repository.DataRep
 import com.pingidentity.sdk.pingonewallet.encrypted_storage.EncryptedStorageProvider;
 import com.pingidentity.sdk.pingonewallet.encrypted_storage.EncryptedStorageProviderImpl;
 import com.pingidentity.sdk.pingonewallet.sample.storage.storage_manager.StorageManagerImpl;
+import com.pingidentity.sdk.pingonewallet.sample.storage.storage_manager.WalletStorageManager;
 import com.pingidentity.sdk.pingonewallet.sample.utils.JsonUtil;
-import com.pingidentity.sdk.pingonewallet.contracts.StorageManagerContract;
 
 import javax.inject.Singleton;
 
@@ -30,13 +30,13 @@ public class AppModule {
 
     @Provides
     @Singleton
-    StorageManagerContract provideStorageManager() {
+    WalletStorageManager provideStorageManager() {
         return StorageManagerImpl.getInstance();
     }
 
     @Provides
     @Singleton
-    DataRepository provideDataRepository(StorageManagerContract storageManager, JsonUtil jsonUtil) {
+    DataRepository provideDataRepository(WalletStorageManager storageManager, JsonUtil jsonUtil) {
         return new DataRepositoryImpl(storageManager, jsonUtil);
     }
 
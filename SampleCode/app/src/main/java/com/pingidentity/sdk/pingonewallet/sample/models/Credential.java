@@ -7,6 +7,7 @@ public class Credential {
 
     final Claim claim;
     boolean isRevoked = false;
+    CredentialCardModel cardModel;
 
     public Credential(Claim claim) {
         this.claim = claim;
@@ -17,10 +18,23 @@ public class Credential {
         this.isRevoked = isRevoked;
     }
 
+    public Credential(Claim claim, CredentialCardModel cardModel) {
+        this.claim = claim;
+        this.cardModel = cardModel;
+        this.isRevoked = cardModel.isRevoked();
+    }
+
     public Claim getClaim() {
         return claim;
     }
 
+    public CredentialCardModel getCardModel() {
+        if (cardModel == null || cardModel.isRevoked() != isRevoked) {
+            cardModel = CredentialCardModel.fromClaim(claim, isRevoked, false);
+        }
+        return cardModel;
+    }
+
     public boolean isRevoked() {
         return isRevoked;
     }
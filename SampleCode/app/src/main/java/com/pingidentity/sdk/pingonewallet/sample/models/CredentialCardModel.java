@@ -0,0 +1,157 @@
+package com.pingidentity.sdk.pingonewallet.sample.models;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.pingidentity.did.sdk.types.Claim;
+import com.pingidentity.sdk.pingonewallet.sample.utils.BitmapUtil;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+public final class CredentialCardModel {
+
+    private final String claimId;
+    private final int version;
+    private final String title;
+    private final List<DetailRow> detailRows;
+    private final String imageKey;
+    private final String image;
+    private final boolean revoked;
+    private final boolean thumbnailReady;
+
+    private CredentialCardModel(String claimId, int version, String title, List<DetailRow> detailRows, String imageKey, String image, boolean revoked, boolean thumbnailReady) {
+        this.claimId = claimId;
+        this.version = version;
+        this.title = title;
+        this.detailRows = Collections.unmodifiableList(detailRows);
+        this.imageKey = imageKey;
+        this.image = image;
+        this.revoked = revoked;
+        this.thumbnailReady = thumbnailReady;
+    }
+
+    @NonNull
+    public static CredentialCardModel fromClaim(@NonNull final Claim claim, final boolean revoked, final boolean thumbnailReady) {
+        final Map<String, String> data = claim.getData();
+        final List<String> orderedKeys = new ArrayList<>();
+        String imageKey = null;
+        String image = null;
+        for (Map.Entry<String, String> entry : data.entrySet()) {
+            if (BitmapUtil.getImageKeys().contains(entry.getKey().toLowerCase())) {
+                if (image == null && entry.getValue() != null && !entry.getValue().isEmpty()) {
+                    imageKey = entry.getKey();
+                    image = entry.getValue();
+                }
+            } else {
+                orderedKeys.add(entry.getKey());
+            }
+        }
+        Collections.sort(orderedKeys);
+
+        final List<DetailRow> detailRows = new ArrayList<>(orderedKeys.size());
+        for (String key : orderedKeys) {
+            detailRows.add(new DetailRow(key, data.getOrDefault(key, "")));
+        }
+        return new CredentialCardModel(claim.getId().toString(), claim.getVersion(), data.getOrDefault("CardType", ""),
+                detailRows, imageKey, image, revoked, thumbnailReady);
+    }
+
+    public String getClaimId() {
+        return claimId;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public List<DetailRow> getDetailRows() {
+        return detailRows;
+    }
+
+    @Nullable
+    public String getImageKey() {
+        return imageKey;
+    }
+
+    @Nullable
+    public String getImage() {
+        return image;
+    }
+
+    public boolean isRevoked() {
+        return revoked;
+    }
+
+    public boolean isThumbnailReady() {
+        return thumbnailReady;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final CredentialCardModel that = (CredentialCardModel) o;
+        return version == that.version
+                && revoked == that.revoked
+                && thumbnailReady == that.thumbnailReady
+                && claimId.equals(that.claimId)
+                && Objects.equals(title, that.title)
+                && Objects.equals(imageKey, that.imageKey)
+                && detailRows.equals(that.detailRows);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(claimId, version, title, imageKey, revoked, thumbnailReady);
+    }
+
+    public static final class DetailRow {
+
+        private final String key;
+        private final String value;
+
+        public DetailRow(String key, String value) {
+            this.key = key;
+            this.value = value;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final DetailRow that = (DetailRow) o;
+            return Objects.equals(key, that.key) && Objects.equals(value, that.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(key, value);
+        }
+
+    }
+
+}
@@ -0,0 +1,5 @@
+package com.pingidentity.sdk.pingonewallet.sample.models;
+
+public enum CredentialSortOrder {
+    ISSUANCE_DATE, TYPE
+}
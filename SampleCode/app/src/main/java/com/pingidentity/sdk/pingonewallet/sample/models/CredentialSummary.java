@@ -0,0 +1,51 @@
+package com.pingidentity.sdk.pingonewallet.sample.models;
+
+import androidx.annotation.NonNull;
+
+import com.pingidentity.did.sdk.types.Claim;
+
+import java.util.Comparator;
+
+public class CredentialSummary {
+
+    public static final Comparator<CredentialSummary> BY_ISSUANCE_DATE =
+            Comparator.comparingLong(CredentialSummary::getIssuedAt).reversed()
+                    .thenComparing(CredentialSummary::getClaimId);
+
+    public static final Comparator<CredentialSummary> BY_TYPE =
+            Comparator.comparing(CredentialSummary::getTitle, String.CASE_INSENSITIVE_ORDER)
+                    .thenComparing(BY_ISSUANCE_DATE);
+
+    private final String claimId;
+    private final String title;
+    private final long issuedAt;
+
+    public CredentialSummary(String claimId, String title, long issuedAt) {
+        this.claimId = claimId;
+        this.title = title;
+        this.issuedAt = issuedAt;
+    }
+
+    @NonNull
+    public static CredentialSummary fromClaim(@NonNull final Claim claim) {
+        final long issuedAt = claim.getCreateDate() == null ? 0L : claim.getCreateDate().toEpochMilli();
+        return new CredentialSummary(claim.getId().toString(), claim.getData().getOrDefault("CardType", ""), issuedAt);
+    }
+
+    public static Comparator<CredentialSummary> comparator(@NonNull final CredentialSortOrder sortOrder) {
+        return sortOrder == CredentialSortOrder.TYPE ? BY_TYPE : BY_ISSUANCE_DATE;
+    }
+
+    public String getClaimId() {
+        return claimId;
+    }
+
+    public String getTitle() {
+        return title == null ? "" : title;
+    }
+
+    public long getIssuedAt() {
+        return issuedAt;
+    }
+
+}
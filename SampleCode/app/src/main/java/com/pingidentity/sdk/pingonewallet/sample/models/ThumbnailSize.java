@@ -0,0 +1,24 @@
+package com.pingidentity.sdk.pingonewallet.sample.models;
+
+public enum ThumbnailSize {
+
+    SMALL(240, "small"),
+    MEDIUM(500, "medium");
+
+    private final int width;
+    private final String key;
+
+    ThumbnailSize(int width, String key) {
+        this.width = width;
+        this.key = key;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+}
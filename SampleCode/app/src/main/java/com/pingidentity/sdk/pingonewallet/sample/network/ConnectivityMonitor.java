@@ -0,0 +1,169 @@
+package com.pingidentity.sdk.pingonewallet.sample.network;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.net.NetworkCapabilities;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.pingidentity.sdk.pingonewallet.sample.utils.PerformanceMetrics;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+import io.reactivex.rxjava3.subjects.BehaviorSubject;
+import io.reactivex.rxjava3.subjects.Subject;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+
+public class ConnectivityMonitor {
+
+    public static final String TAG = ConnectivityMonitor.class.getCanonicalName();
+
+    public static final String METRIC_PROBE_LATENCY = "connectivity_probe_latency";
+
+    private static final long PROBE_INTERVAL_SECONDS = 120;
+    private static final long PROBE_TIMEOUT_SECONDS = 3;
+
+    public enum State {
+        OFFLINE,
+        // A validated network is up, but the PingOne endpoints did not answer the last probe
+        ENDPOINTS_UNREACHABLE,
+        ONLINE
+    }
+
+    private static ConnectivityMonitor instance;
+
+    private final ConnectivityManager mConnectivityManager;
+    private final List<HttpUrl> mEndpoints = new ArrayList<>();
+    private final OkHttpClient mProbeClient = new OkHttpClient.Builder()
+            .connectTimeout(PROBE_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+            .readTimeout(PROBE_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+            .callTimeout(PROBE_TIMEOUT_SECONDS * 2, TimeUnit.SECONDS)
+            .build();
+    // Published from both the network callback thread and the probe thread
+    private final Subject<State> mState;
+
+    private volatile Network mDefaultNetwork;
+    private volatile boolean mNetworkValidated;
+    private volatile boolean mEndpointsReachable = true;
+
+    private ConnectivityMonitor(@NonNull final Context context, @NonNull final String[] endpointHosts) {
+        mConnectivityManager = (ConnectivityManager) context.getApplicationContext().getSystemService(Context.CONNECTIVITY_SERVICE);
+        for (String host : endpointHosts) {
+            mEndpoints.add(new HttpUrl.Builder().scheme("https").host(host).build());
+        }
+
+        // Seeded synchronously so the first read after launch does not have to wait for a callback or a probe
+        mDefaultNetwork = mConnectivityManager.getActiveNetwork();
+        mNetworkValidated = isValidated(mConnectivityManager.getNetworkCapabilities(mDefaultNetwork));
+        mState = BehaviorSubject.createDefault(computeState()).toSerialized();
+
+        mConnectivityManager.registerDefaultNetworkCallback(new ConnectivityManager.NetworkCallback() {
+            @Override
+            public void onCapabilitiesChanged(@NonNull Network network, @NonNull NetworkCapabilities capabilities) {
+                final boolean validated = isValidated(capabilities);
+                // Moving between two validated networks, e.g. wifi to cellular, can change which endpoints are reachable
+                final boolean networkChanged = !network.equals(mDefaultNetwork);
+                mDefaultNetwork = network;
+                if (validated != mNetworkValidated || networkChanged) {
+                    mNetworkValidated = validated;
+                    publishState();
+                    if (validated) {
+                        probe();
+                    }
+                }
+            }
+
+            @Override
+            public void onLost(@NonNull Network network) {
+                mDefaultNetwork = null;
+                mNetworkValidated = false;
+                publishState();
+            }
+        });
+
+        Observable.interval(PROBE_INTERVAL_SECONDS, PROBE_INTERVAL_SECONDS, TimeUnit.SECONDS, Schedulers.io())
+                .filter(tick -> mNetworkValidated)
+                .subscribe(tick -> runProbe(), throwable -> Log.e(TAG, "Periodic connectivity probe stopped", throwable));
+    }
+
+    public static synchronized void initialize(@NonNull final Context context, @NonNull final String[] endpointHosts) {
+        if (instance == null) {
+            instance = new ConnectivityMonitor(context, endpointHosts);
+        }
+    }
+
+    public static ConnectivityMonitor getInstance() {
+        return instance;
+    }
+
+    // Constant time, safe to call from any thread
+    public boolean isOnline() {
+        return mNetworkValidated && mEndpointsReachable;
+    }
+
+    @NonNull
+    public State getState() {
+        return computeState();
+    }
+
+    // Emits the current state on subscription and then every change
+    @NonNull
+    public Observable<State> observeState() {
+        return mState.distinctUntilChanged();
+    }
+
+    public void probe() {
+        Schedulers.io().scheduleDirect(this::runProbe);
+    }
+
+    private void runProbe() {
+        if (!mNetworkValidated) {
+            return;
+        }
+        boolean reachable = false;
+        for (HttpUrl endpoint : mEndpoints) {
+            final long startMillis = SystemClock.elapsedRealtime();
+            // Any HTTP status proves DNS, TCP and TLS to the endpoint all work
+            try (Response ignored = mProbeClient.newCall(new Request.Builder().url(endpoint).head().build()).execute()) {
+                PerformanceMetrics.getInstance().recordDuration(METRIC_PROBE_LATENCY, SystemClock.elapsedRealtime() - startMillis);
+                reachable = true;
+                break;
+            } catch (IOException e) {
+                Log.w(TAG, "Connectivity probe failed for " + endpoint.host(), e);
+            }
+        }
+        mEndpointsReachable = reachable;
+        publishState();
+    }
+
+    // Computing and emitting under one lock keeps a slower thread from publishing a state that is already stale
+    private synchronized void publishState() {
+        mState.onNext(computeState());
+    }
+
+    @NonNull
+    private State computeState() {
+        if (!mNetworkValidated) {
+            return State.OFFLINE;
+        }
+        return mEndpointsReachable ? State.ONLINE : State.ENDPOINTS_UNREACHABLE;
+    }
+
+    private static boolean isValidated(final NetworkCapabilities capabilities) {
+        return capabilities != null
+                && capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_INTERNET)
+                && capabilities.hasCapability(NetworkCapabilities.NET_CAPABILITY_VALIDATED);
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.pingidentity.sdk.pingonewallet.sample.network;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.pingidentity.sdk.pingonewallet.sample.utils.PerformanceMetrics;
+
+import java.net.UnknownHostException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Dns;
+
+// The SDK's HTTP stack cannot be reached from the app, but it resolves through the same system resolver,
+// so a lookup made here leaves the answer in the resolver cache for its first request
+public class DnsPrewarmer {
+
+    public static final String TAG = DnsPrewarmer.class.getCanonicalName();
+
+    public static final String METRIC_LOOKUP_TIME = "prewarm_dns_lookup_time";
+
+    // Short enough to stay within typical record TTLs, long enough that reopening the scanner does not repeat lookups
+    private static final long REWARM_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private final Dns mDns;
+    private final Executor mExecutor;
+    private final Map<String, Long> mLastWarmedMillis = new ConcurrentHashMap<>();
+
+    public DnsPrewarmer(@NonNull final Dns dns, @NonNull final Executor executor) {
+        mDns = dns;
+        mExecutor = executor;
+    }
+
+    public void prewarm(@NonNull final Collection<String> hosts) {
+        final long now = SystemClock.elapsedRealtime();
+        for (String host : hosts) {
+            final Long lastWarmed = mLastWarmedMillis.get(host);
+            if (lastWarmed != null && now - lastWarmed < REWARM_INTERVAL_MILLIS) {
+                continue;
+            }
+            mLastWarmedMillis.put(host, now);
+            mExecutor.execute(() -> resolve(host));
+        }
+    }
+
+    private void resolve(@NonNull final String host) {
+        final long startMillis = SystemClock.elapsedRealtime();
+        try {
+            mDns.lookup(host);
+            PerformanceMetrics.getInstance().recordDuration(METRIC_LOOKUP_TIME, SystemClock.elapsedRealtime() - startMillis);
+            Log.d(TAG, "Resolved " + host);
+        } catch (UnknownHostException e) {
+            mLastWarmedMillis.remove(host);
+            Log.w(TAG, "Failed to resolve " + host, e);
+        }
+    }
+
+}
@@ -0,0 +1,224 @@
+package com.pingidentity.sdk.pingonewallet.sample.network;
+
+import android.os.SystemClock;
+import android.text.TextUtils;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.pingidentity.sdk.pingonewallet.sample.utils.PerformanceMetrics;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URLDecoder;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.reactivex.rxjava3.functions.Consumer;
+
+public class InboundPayloadPipeline {
+
+    public static final String TAG = InboundPayloadPipeline.class.getCanonicalName();
+
+    public static final String METRIC_SUBMITTED = "inbound_payloads_submitted";
+    public static final String METRIC_DEDUPLICATED = "inbound_payloads_deduplicated";
+    public static final String METRIC_REJECTED = "inbound_payloads_rejected";
+    public static final String METRIC_PROCESSING_TIME = "inbound_payload_processing_time";
+
+    // The processor blocks until the SDK call returns, even past its deadline, so this also bounds concurrent SDK calls
+    private static final int MAX_CONCURRENT_PAYLOADS = 3;
+    private static final int MAX_QUEUED_PAYLOADS = 16;
+    // Absorbs the same code read by consecutive camera frames; a deliberate rescan after a finished payload is processed again
+    private static final long DEFAULT_DEBOUNCE_MILLIS = 500;
+
+    // Query parameters that identify the underlying challenge regardless of how the link was wrapped
+    private static final String[] CHALLENGE_PARAMETERS = {"request_uri", "challenge", "u"};
+
+    private final Consumer<String> mProcessor;
+    private final long mDebounceMillis;
+    private final ThreadPoolExecutor mExecutor;
+    private final Map<String, Handle> mRecentPayloads = new HashMap<>();
+
+    public InboundPayloadPipeline(@NonNull final Consumer<String> processor) {
+        this(processor, MAX_CONCURRENT_PAYLOADS, DEFAULT_DEBOUNCE_MILLIS);
+    }
+
+    public InboundPayloadPipeline(@NonNull final Consumer<String> processor, final int maxConcurrentPayloads, final long debounceMillis) {
+        mProcessor = processor;
+        mDebounceMillis = debounceMillis;
+        final AtomicInteger threadCount = new AtomicInteger();
+        mExecutor = new ThreadPoolExecutor(maxConcurrentPayloads, maxConcurrentPayloads,
+                30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(MAX_QUEUED_PAYLOADS),
+                runnable -> new Thread(runnable, "inbound-payload-" + threadCount.incrementAndGet()));
+        mExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    // Returns the handle of an equivalent payload that is still in flight or was submitted within the debounce window
+    @NonNull
+    public Handle submit(@NonNull final String payload) {
+        PerformanceMetrics.getInstance().increment(METRIC_SUBMITTED);
+        final String key = normalize(payload);
+        final long now = SystemClock.elapsedRealtime();
+
+        final Handle handle;
+        synchronized (mRecentPayloads) {
+            evictExpired(now);
+            final Handle existing = mRecentPayloads.get(key);
+            if (existing != null) {
+                PerformanceMetrics.getInstance().increment(METRIC_DEDUPLICATED);
+                Log.d(TAG, "Ignoring duplicate payload " + key);
+                return existing;
+            }
+            handle = new Handle(key, now + mDebounceMillis);
+            mRecentPayloads.put(key, handle);
+        }
+
+        try {
+            handle.mFuture = mExecutor.submit(() -> process(handle, payload));
+        } catch (RejectedExecutionException e) {
+            PerformanceMetrics.getInstance().increment(METRIC_REJECTED);
+            Log.e(TAG, "Too many pending payloads, dropping " + key, e);
+            forget(handle);
+            handle.mCancelled = true;
+        }
+        return handle;
+    }
+
+    private void process(@NonNull final Handle handle, @NonNull final String payload) {
+        if (handle.isCancelled()) {
+            return;
+        }
+        final long startMillis = SystemClock.elapsedRealtime();
+        try {
+            mProcessor.accept(payload);
+        } catch (Throwable throwable) {
+            Log.e(TAG, "Failed to process payload " + handle.mKey, throwable);
+            // A failed payload should not suppress a retry of the same link
+            forget(handle);
+        } finally {
+            handle.mDone = true;
+            final long endMillis = SystemClock.elapsedRealtime();
+            PerformanceMetrics.getInstance().recordDuration(METRIC_PROCESSING_TIME, endMillis - startMillis);
+            // Inside the debounce window the entry is left for the next submit to evict
+            if (handle.mExpiresAtMillis <= endMillis) {
+                forget(handle);
+            }
+        }
+    }
+
+    private void forget(@NonNull final Handle handle) {
+        synchronized (mRecentPayloads) {
+            if (mRecentPayloads.get(handle.mKey) == handle) {
+                mRecentPayloads.remove(handle.mKey);
+            }
+        }
+    }
+
+    private void evictExpired(final long now) {
+        final Iterator<Handle> iterator = mRecentPayloads.values().iterator();
+        while (iterator.hasNext()) {
+            final Handle handle = iterator.next();
+            if (handle.mExpiresAtMillis <= now && (handle.mDone || handle.isCancelled())) {
+                iterator.remove();
+            }
+        }
+    }
+
+    @NonNull
+    static String normalize(@NonNull final String payload) {
+        final String trimmed = payload.trim();
+        final URI uri;
+        try {
+            uri = new URI(trimmed);
+        } catch (URISyntaxException e) {
+            return trimmed;
+        }
+
+        final String challenge = findChallenge(uri.getRawQuery());
+        if (challenge != null && !challenge.equals(trimmed)) {
+            return normalize(challenge);
+        }
+
+        final StringBuilder builder = new StringBuilder();
+        if (uri.getScheme() != null) {
+            builder.append(uri.getScheme().toLowerCase(Locale.ROOT)).append(':');
+        }
+        if (uri.getRawAuthority() != null) {
+            builder.append("//").append(uri.getRawAuthority().toLowerCase(Locale.ROOT));
+        }
+        if (uri.getRawPath() != null) {
+            builder.append(uri.getRawPath());
+        }
+        if (uri.getRawQuery() != null) {
+            final String[] parameters = uri.getRawQuery().split("&");
+            Arrays.sort(parameters);
+            builder.append('?').append(TextUtils.join("&", parameters));
+        }
+        return builder.toString();
+    }
+
+    @Nullable
+    private static String findChallenge(@Nullable final String rawQuery) {
+        if (rawQuery == null) {
+            return null;
+        }
+        for (String name : CHALLENGE_PARAMETERS) {
+            for (String parameter : rawQuery.split("&")) {
+                final int separator = parameter.indexOf('=');
+                if (separator > 0 && parameter.substring(0, separator).equals(name)) {
+                    try {
+                        return URLDecoder.decode(parameter.substring(separator + 1), "UTF-8");
+                    } catch (UnsupportedEncodingException | IllegalArgumentException e) {
+                        return parameter.substring(separator + 1);
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
+    public class Handle {
+
+        private final String mKey;
+        private final long mExpiresAtMillis;
+        private volatile Future<?> mFuture;
+        private volatile boolean mCancelled;
+        private volatile boolean mDone;
+
+        private Handle(@NonNull final String key, final long expiresAtMillis) {
+            mKey = key;
+            mExpiresAtMillis = expiresAtMillis;
+        }
+
+        public void cancel() {
+            mCancelled = true;
+            final Future<?> future = mFuture;
+            if (future != null) {
+                future.cancel(false);
+            }
+            forget(this);
+        }
+
+        public boolean isCancelled() {
+            return mCancelled;
+        }
+
+        public boolean isDone() {
+            return mDone;
+        }
+
+    }
+
+}
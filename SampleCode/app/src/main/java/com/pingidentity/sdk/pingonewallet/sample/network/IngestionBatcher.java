@@ -0,0 +1,109 @@
+package com.pingidentity.sdk.pingonewallet.sample.network;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.pingidentity.did.sdk.types.Claim;
+import com.pingidentity.sdk.pingonewallet.sample.utils.PerformanceMetrics;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+public class IngestionBatcher {
+
+    public static final String TAG = IngestionBatcher.class.getCanonicalName();
+
+    public static final String METRIC_BATCH_SIZE = "ingestion_batch_size";
+    public static final String METRIC_BATCH_WAIT = "ingestion_batch_wait";
+
+    // A lone issuance waits this long for company, a steady stream is flushed at least every MAX_WINDOW_MILLIS
+    private static final long QUIET_WINDOW_MILLIS = 300;
+    private static final long MAX_WINDOW_MILLIS = 2000;
+    private static final int MAX_BATCH_SIZE = 50;
+    // The claims are already stored when they are submitted, so a batch that keeps failing is only logged and dropped
+    private static final int MAX_FLUSH_ATTEMPTS = 3;
+
+    // A failed batch is handed over again, so the sink must tolerate claims it has already seen
+    public interface Sink {
+
+        void onBatch(@NonNull List<Claim> claims);
+
+    }
+
+    private final Sink mSink;
+    private final ScheduledExecutorService mExecutor = Executors.newSingleThreadScheduledExecutor();
+
+    // Keyed by claim id, so a claim issued twice within one window is stored once
+    private final Map<String, Claim> mPending = new LinkedHashMap<>();
+    private long mFirstArrivalMillis;
+    private int mFailedAttempts;
+    private ScheduledFuture<?> mScheduledFlush;
+
+    public IngestionBatcher(@NonNull final Sink sink) {
+        mSink = sink;
+    }
+
+    public void submit(@NonNull final Claim claim) {
+        mExecutor.execute(() -> {
+            if (mPending.isEmpty()) {
+                mFirstArrivalMillis = SystemClock.elapsedRealtime();
+            }
+            mPending.put(claim.getId().toString(), claim);
+            if (mPending.size() >= MAX_BATCH_SIZE) {
+                flush();
+            } else {
+                scheduleFlush();
+            }
+        });
+    }
+
+    private void scheduleFlush() {
+        if (mScheduledFlush != null) {
+            mScheduledFlush.cancel(false);
+        }
+        final long remainingMillis = MAX_WINDOW_MILLIS - (SystemClock.elapsedRealtime() - mFirstArrivalMillis);
+        mScheduledFlush = mExecutor.schedule(this::flush, Math.max(0, Math.min(QUIET_WINDOW_MILLIS, remainingMillis)), TimeUnit.MILLISECONDS);
+    }
+
+    private void flush() {
+        if (mScheduledFlush != null) {
+            mScheduledFlush.cancel(false);
+            mScheduledFlush = null;
+        }
+        if (mPending.isEmpty()) {
+            return;
+        }
+        final List<Claim> batch = new ArrayList<>(mPending.values());
+        try {
+            mSink.onBatch(batch);
+        } catch (RuntimeException e) {
+            // The failed claims stay pending, claims submitted before the retry are added to them
+            if (++mFailedAttempts < MAX_FLUSH_ATTEMPTS) {
+                Log.e(TAG, String.format("Failed to ingest %d credentials, retrying", batch.size()), e);
+                mScheduledFlush = mExecutor.schedule(this::flush, MAX_WINDOW_MILLIS, TimeUnit.MILLISECONDS);
+                return;
+            }
+            Log.e(TAG, String.format("Failed to ingest %d credentials after %d attempts, dropping them", batch.size(), mFailedAttempts), e);
+            reset();
+            return;
+        }
+        PerformanceMetrics.getInstance().recordValue(METRIC_BATCH_SIZE, batch.size());
+        PerformanceMetrics.getInstance().recordDuration(METRIC_BATCH_WAIT, SystemClock.elapsedRealtime() - mFirstArrivalMillis);
+        reset();
+    }
+
+    private void reset() {
+        mPending.clear();
+        mFailedAttempts = 0;
+        mFirstArrivalMillis = 0;
+    }
+
+}
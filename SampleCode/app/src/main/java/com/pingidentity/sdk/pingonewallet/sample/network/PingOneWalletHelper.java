@@ -3,11 +3,14 @@ package com.pingidentity.sdk.pingonewallet.sample.network;
 import static com.pingidentity.did.sdk.w3c.verifiableCredential.PresentationActionType.OPEN_URI;
 
 import android.annotation.SuppressLint;
+import android.content.Context;
+import android.os.SystemClock;
 import android.util.Log;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.core.util.Consumer;
+import androidx.lifecycle.LiveData;
 
 import com.google.firebase.messaging.FirebaseMessaging;
 import com.pingidentity.did.sdk.client.service.NotFoundException;
@@ -15,35 +18,83 @@ import com.pingidentity.did.sdk.client.service.model.Challenge;
 import com.pingidentity.did.sdk.types.Claim;
 import com.pingidentity.did.sdk.types.ClaimReference;
 import com.pingidentity.did.sdk.types.Share;
+import com.pingidentity.did.sdk.types.VerifiableCredential;
 import com.pingidentity.did.sdk.w3c.verifiableCredential.OpenUriAction;
 import com.pingidentity.did.sdk.w3c.verifiableCredential.PresentationAction;
+import com.pingidentity.did.sdk.w3c.verifiableCredential.VerifiablePresentationRequest;
 import com.pingidentity.sdk.pingonewallet.client.PingOneWalletClient;
 import com.pingidentity.sdk.pingonewallet.contracts.WalletCallbackHandler;
 import com.pingidentity.sdk.pingonewallet.errors.WalletException;
 import com.pingidentity.sdk.pingonewallet.sample.callbacks.ClaimPickerListener;
+import com.pingidentity.sdk.pingonewallet.sample.models.CredentialSortOrder;
 import com.pingidentity.sdk.pingonewallet.sample.models.Profile;
+import com.pingidentity.sdk.pingonewallet.sample.network.outbox.Outbox;
+import com.pingidentity.sdk.pingonewallet.sample.network.resilience.CallPolicy;
+import com.pingidentity.sdk.pingonewallet.sample.network.resilience.CircuitOpenException;
+import com.pingidentity.sdk.pingonewallet.sample.network.resilience.WalletCallGuard;
 import com.pingidentity.sdk.pingonewallet.sample.notifications.PingOneNotificationService;
 import com.pingidentity.sdk.pingonewallet.sample.storage.data_repository.DataRepository;
 import com.pingidentity.sdk.pingonewallet.sample.storage.storage_manager.StorageManagerImpl;
+import com.pingidentity.sdk.pingonewallet.sample.utils.JsonUtil;
 import com.pingidentity.sdk.pingonewallet.sample.utils.NotificationUtil;
+import com.pingidentity.sdk.pingonewallet.sample.utils.PerformanceMetrics;
+import com.pingidentity.sdk.pingonewallet.sample.utils.ThumbnailGenerator;
 import com.pingidentity.sdk.pingonewallet.types.CredentialMatcherResult;
 import com.pingidentity.sdk.pingonewallet.types.CredentialsPresentation;
 import com.pingidentity.sdk.pingonewallet.types.PresentationRequest;
+import com.pingidentity.sdk.pingonewallet.types.PresentationResult;
 import com.pingidentity.sdk.pingonewallet.types.RequestedKey;
 import com.pingidentity.sdk.pingonewallet.utils.BackgroundThreadHandler;
 
+import java.net.ConnectException;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
 import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Single;
 import io.reactivex.rxjava3.schedulers.Schedulers;
+import okhttp3.HttpUrl;
+import okhttp3.Dns;
 
 public class PingOneWalletHelper implements WalletCallbackHandler {
 
     public static final String TAG = PingOneWalletHelper.class.getCanonicalName();
 
+    public static final String METRIC_SCAN_TO_REQUEST_START = "qr_scan_to_request_start";
+    public static final String METRIC_PRESENTATION_PAYLOAD_BYTES = "presentation_payload_bytes";
+    public static final String METRIC_PRESENTATION_UPLOAD_TIME = "presentation_upload_time";
+    public static final String METRIC_SELF_CLAIM_HITS = "self_claim_hits";
+    public static final String METRIC_SELF_CLAIM_MISSES = "self_claim_misses";
+
+    public static final String[] PINGONE_HOSTS = {"api.pingone.com"};
+    private static final int MAX_REMEMBERED_HOSTS = 8;
+
+    public static final String OPERATION_PROCESS_QR_CONTENT = "process_qr_content";
+    public static final String OPERATION_PAIR_WALLET = "pair_wallet";
+    public static final String OPERATION_CREATE_SELF_CLAIM = "create_self_claim";
+    public static final String OPERATION_PRESENT_CREDENTIALS = "present_credentials";
+
+    // The SDK routes its own fetch failures to handleError instead of throwing, so there is nothing to retry on
+    private static final CallPolicy PROCESS_QR_CONTENT_POLICY = CallPolicy.singleAttempt(20, TimeUnit.SECONDS);
+    // Pairing registers the wallet and presenting is retried by the outbox with its own backoff
+    private static final CallPolicy PAIR_WALLET_POLICY = CallPolicy.singleAttempt(30, TimeUnit.SECONDS);
+    private static final CallPolicy PRESENT_CREDENTIALS_POLICY = CallPolicy.singleAttempt(30, TimeUnit.SECONDS);
+    private static final CallPolicy CREATE_SELF_CLAIM_POLICY = CallPolicy.singleAttempt(10, TimeUnit.SECONDS);
+
     private static PingOneWalletHelper shared;
     private static Runnable resultHandler;
 
@@ -51,11 +102,30 @@ public class PingOneWalletHelper implements WalletCallbackHandler {
 
     private final DataRepository mDataRepository;
     private final NotificationUtil mNotificationUtil;
-
+    private final ThumbnailGenerator mThumbnailGenerator;
+    private final InboundPayloadPipeline mInboundPayloadPipeline;
+    private final IngestionBatcher mIngestionBatcher;
+    private final DnsPrewarmer mDnsPrewarmer;
+    private final Outbox mOutbox;
+    private final WalletCallGuard mWalletCallGuard = new WalletCallGuard();
+    private final Set<String> mRecentHosts = Collections.synchronizedSet(new LinkedHashSet<>());
+    // At most one self-claim is signed per profile revision, shared by the background and interactive paths
+    private final Object mSelfClaimLock = new Object();
+    private Single<Claim> mPendingSelfClaim;
+    private String mPendingSelfClaimRevision;
 
     private PingOneWalletHelper(DataRepository repository, NotificationUtil notificationUtil) {
         mDataRepository = repository;
         mNotificationUtil = notificationUtil;
+        mThumbnailGenerator = new ThumbnailGenerator(repository);
+        mInboundPayloadPipeline = new InboundPayloadPipeline(this::processQrContent);
+        mIngestionBatcher = new IngestionBatcher(this::onCredentialsIssued);
+        mDnsPrewarmer = new DnsPrewarmer(Dns.SYSTEM, Schedulers.io()::scheduleDirect);
+        mOutbox = new Outbox(StorageManagerImpl.getInstance(), new JsonUtil(), new OutboxSender());
+        ConnectivityMonitor.getInstance().observeState()
+                .filter(state -> state == ConnectivityMonitor.State.ONLINE)
+                .subscribe(state -> mOutbox.onConnectivityRestored(),
+                        throwable -> Log.e(TAG, "Connectivity updates stopped", throwable));
 
         Completable.fromRunnable(() -> {
                     mPingOneWalletClient = new PingOneWalletClient.Builder()
@@ -73,10 +143,14 @@ public class PingOneWalletHelper implements WalletCallbackHandler {
 
                     StorageManagerImpl.getInstance().saveApplicationInstance(mPingOneWalletClient.getApplicationInstance());
                     resultHandler.run();
+                    mOutbox.onConnectivityRestored();
+                    mThumbnailGenerator.generateMissingThumbnails(mDataRepository.getClaimSummaries(CredentialSortOrder.ISSUANCE_DATE));
+                    prepareSelfClaim();
                 })
                 .subscribeOn(Schedulers.io())
                 .observeOn(AndroidSchedulers.mainThread())
-                .subscribe();
+                .subscribe(() -> Log.i(TAG, "Wallet client initialized"),
+                        throwable -> Log.e(TAG, "Failed to initialize wallet client", throwable));
     }
 
     public static void initialize(DataRepository repository, NotificationUtil notificationUtil, Runnable result) {
@@ -88,12 +162,96 @@ public class PingOneWalletHelper implements WalletCallbackHandler {
         return shared;
     }
 
+    // QR scans, deep links and notifications should come through here rather than calling processQrContent directly
+    @NonNull
+    public InboundPayloadPipeline.Handle submitPayload(@NonNull final String payload) {
+        return mInboundPayloadPipeline.submit(payload);
+    }
+
+    // Called as soon as the scanner opens or a deep link arrives, so the SDK's first request skips the DNS lookup
+    public void prewarmHosts(@Nullable final String payload) {
+        if (payload != null) {
+            final HttpUrl payloadUrl = HttpUrl.parse(InboundPayloadPipeline.normalize(payload));
+            if (payloadUrl != null) {
+                rememberHost(payloadUrl.host());
+            }
+        }
+
+        final List<String> hosts = new ArrayList<>(Arrays.asList(PINGONE_HOSTS));
+        synchronized (mRecentHosts) {
+            hosts.addAll(mRecentHosts);
+        }
+        mDnsPrewarmer.prewarm(hosts);
+    }
+
+    @NonNull
+    public Map<String, Long> getWalletCallMetrics() {
+        return PerformanceMetrics.getInstance().snapshotCounters(WalletCallGuard.METRIC_PREFIX);
+    }
+
+    // Blocks the calling pipeline worker until the SDK is done, so the deadline and its failures reach the pipeline.
+    // No circuit is kept for it, as the SDK never surfaces a transport failure from this call.
     public void processQrContent(@NonNull final String qrContent) {
-        mPingOneWalletClient.processQrContent(qrContent);
+        PerformanceMetrics.getInstance().markEnd(METRIC_SCAN_TO_REQUEST_START);
+        final AtomicBoolean started = new AtomicBoolean();
+        final CountDownLatch finished = new CountDownLatch(1);
+        try {
+            mWalletCallGuard.run(OPERATION_PROCESS_QR_CONTENT, PROCESS_QR_CONTENT_POLICY, null, () -> {
+                        started.set(true);
+                        try {
+                            mPingOneWalletClient.processQrContent(qrContent);
+                        } finally {
+                            finished.countDown();
+                        }
+                    })
+                    .blockingAwait();
+        } catch (RuntimeException e) {
+            notifyCallFailed(e);
+            // The user hears about the deadline right away, but the worker stays taken until the SDK call returns,
+            // so the pipeline's concurrency limit bounds the calls actually running in the SDK
+            if (started.get()) {
+                awaitUninterruptibly(finished);
+            }
+            throw e;
+        }
     }
 
+    private static void awaitUninterruptibly(@NonNull final CountDownLatch latch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Signs the self-claim in the background after a profile change, so the next share does not have to wait for it
+    @SuppressWarnings("ResultOfMethodCallIgnored")
+    @SuppressLint("CheckResult")
+    public void prepareSelfClaim() {
+        getSelfClaim(false).subscribe(
+                claim -> Log.d(TAG, "Self-claim ready"),
+                throwable -> Log.w(TAG, "Failed to prepare self-claim, it will be created when shared", throwable));
+    }
+
+    // Held in the outbox while offline; once handed to the SDK a failed report is not retried, as the SDK never surfaces it
     public void reportCredentialDeletion(@NonNull final Claim claim) {
-        mPingOneWalletClient.reportCredentialDeletion(claim);
+        mOutbox.enqueueDeletionReport(claim);
+    }
+
+    // The SDK reports one claim per call, so a bulk delete is queued together and handed over back to back in one drain
+    public void reportCredentialDeletions(@NonNull final Collection<Claim> claims) {
+        mOutbox.enqueueDeletionReports(claims);
+    }
+
+    public LiveData<Integer> getOutboxDepth() {
+        return mOutbox.getQueueDepth();
     }
 
     /////////////////////////////////////////////////////////////////////////////////////
@@ -103,8 +261,9 @@ public class PingOneWalletHelper implements WalletCallbackHandler {
     @Override
     public boolean handleCredentialIssuance(String issuer, String message, Challenge challenge, Claim claim, List<WalletException> errors) {
         Log.i(TAG, "handleCredentialIssuance");
-        mDataRepository.saveClaim(claim);
-        BackgroundThreadHandler.postOnMainThread(() -> mNotificationUtil.showToast("Received a new credential"));
+        // Stored before the SDK is told the issuance was handled, only the follow-up work waits for the batch
+        mDataRepository.storeClaims(Collections.singletonList(claim));
+        mIngestionBatcher.submit(claim);
         return true;
     }
 
@@ -187,6 +346,21 @@ public class PingOneWalletHelper implements WalletCallbackHandler {
         }
     }
 
+    // Issuers often push several credentials right after pairing, so they are indexed and announced together
+    // Runs again for the whole batch when it failed part way, so work already done for a claim is skipped
+    private void onCredentialsIssued(@NonNull final List<Claim> claims) {
+        mDataRepository.publishClaims(claims);
+        final List<Claim> missingThumbnails = new ArrayList<>();
+        for (Claim claim : claims) {
+            if (!mDataRepository.hasThumbnails(claim.getId().toString())) {
+                missingThumbnails.add(claim);
+            }
+        }
+        mThumbnailGenerator.generateThumbnails(missingThumbnails);
+        final String message = claims.size() == 1 ? "Received a new credential" : String.format("Received %d new credentials", claims.size());
+        BackgroundThreadHandler.postOnMainThread(() -> mNotificationUtil.showToast(message));
+    }
+
     private boolean handlePairingRequest(@NonNull final PresentationRequest presentationRequest) {
         if (!presentationRequest.isPairingRequest()) {
             return false;
@@ -194,17 +368,30 @@ public class PingOneWalletHelper implements WalletCallbackHandler {
 
         /*  TODO: Uncomment to use push notifications
          *   BackgroundThreadHandler.singleBackgroundThreadHandler().post(() -> getPushToken(pushToken -> {
-         *          mNotificationUtil.showPairingRequest(() ->
-         *              StorageManagerImpl.getInstance().saveApplicationInstance(mPingOneWalletClient.pairWallet(presentationRequest, mNotificationUtil.getContextWeakReference().get(), pushToken)));
+         *          mNotificationUtil.showPairingRequest(() -> pairWallet(presentationRequest, pushToken));
          *      }));
          */
 
         // Comment/delete the following block if using push notifications
-        mNotificationUtil.showPairingRequest(() ->
-                StorageManagerImpl.getInstance().saveApplicationInstance(mPingOneWalletClient.pairWallet(presentationRequest, mNotificationUtil.getContextWeakReference().get(), null)));
+        mNotificationUtil.showPairingRequest(() -> pairWallet(presentationRequest, null));
         return true;
     }
 
+    // Runs off the main thread, where the pairing dialog invokes it
+    @SuppressWarnings("ResultOfMethodCallIgnored")
+    @SuppressLint("CheckResult")
+    private void pairWallet(@NonNull final PresentationRequest presentationRequest, @Nullable final String pushToken) {
+        final Context context = mNotificationUtil.getContextWeakReference().get();
+        mWalletCallGuard.call(OPERATION_PAIR_WALLET, PAIR_WALLET_POLICY, getRequestHost(presentationRequest),
+                        () -> Single.fromCallable(() -> mPingOneWalletClient.pairWallet(presentationRequest, context, pushToken))
+                                .subscribeOn(Schedulers.io()))
+                .subscribe(StorageManagerImpl.getInstance()::saveApplicationInstance,
+                        throwable -> {
+                            Log.e(TAG, "Failed to pair wallet", throwable);
+                            notifyCallFailed(throwable);
+                        });
+    }
+
     private void selectCredentialToPresent(@NonNull final List<CredentialMatcherResult> credentialMatcherResults, int index, @NonNull final ClaimPickerListener listener) {
         if (index >= credentialMatcherResults.size()) {
             listener.onPickerComplete();
@@ -236,45 +423,88 @@ public class PingOneWalletHelper implements WalletCallbackHandler {
     @SuppressLint("CheckResult")
     private void shareSelfClaim(@NonNull final PresentationRequest presentationRequest) {
         final CredentialsPresentation presentation = new CredentialsPresentation(presentationRequest);
-        Claim selfClaim = mDataRepository.getSelfClaim();
-        if (selfClaim == null) {
-
-            final Profile profile = mDataRepository.getProfile();
-            Map<String, String> claimMap = profile == null ? new HashMap<>() : profile.toMap();
-            mPingOneWalletClient.createSelfClaim(claimMap)
-                    .subscribe(
-                            claim -> {
-                                shareCredentialPresentation(presentation.addClaimForKeys(presentationRequest.getStringKeys(), claim));
-                                mDataRepository.saveSelfClaim(claim);
-                            },
-                            throwable -> Log.e(TAG, "Failed to create self-claim...share data:", throwable));
-        } else {
-            shareCredentialPresentation(presentation.addClaimForKeys(presentationRequest.getStringKeys(), selfClaim));
+        getSelfClaim(true).subscribe(
+                claim -> shareCredentialPresentation(presentation.addClaimForKeys(presentationRequest.getStringKeys(), claim)),
+                throwable -> {
+                    Log.e(TAG, "Failed to create self-claim...share data:", throwable);
+                    notifyCallFailed(throwable);
+                });
+    }
+
+    // The stored claim while the profile is unchanged, otherwise the generation already in flight for this revision or a new one
+    @NonNull
+    private Single<Claim> getSelfClaim(final boolean interactive) {
+        return Single.defer(() -> {
+            final Claim selfClaim = mDataRepository.getSelfClaim();
+            if (selfClaim != null) {
+                if (interactive) {
+                    PerformanceMetrics.getInstance().increment(METRIC_SELF_CLAIM_HITS);
+                }
+                return Single.just(selfClaim);
+            }
+            if (interactive) {
+                PerformanceMetrics.getInstance().increment(METRIC_SELF_CLAIM_MISSES);
+            }
+            return generateSelfClaim(mDataRepository.getProfileRevision());
+        }).subscribeOn(Schedulers.io());
+    }
+
+    @NonNull
+    private Single<Claim> generateSelfClaim(@NonNull final String profileRevision) {
+        synchronized (mSelfClaimLock) {
+            if (mPendingSelfClaim != null && profileRevision.equals(mPendingSelfClaimRevision)) {
+                return mPendingSelfClaim;
+            }
+            mPendingSelfClaimRevision = profileRevision;
+            mPendingSelfClaim = Single.defer(() -> {
+                        if (mPingOneWalletClient == null) {
+                            return Single.<Claim>error(new IllegalStateException("Wallet client is not initialized"));
+                        }
+                        final Profile profile = mDataRepository.getProfile();
+                        final Map<String, String> claimMap = profile == null ? new HashMap<>() : profile.toMap();
+                        // Signing happens on the device, so there is no remote host to hold a circuit for
+                        return mWalletCallGuard.call(OPERATION_CREATE_SELF_CLAIM, CREATE_SELF_CLAIM_POLICY, null, () -> mPingOneWalletClient.createSelfClaim(claimMap));
+                    })
+                    .doOnSuccess(claim -> {
+                        if (!mDataRepository.saveSelfClaim(claim, profileRevision)) {
+                            Log.d(TAG, "Profile changed while signing, self-claim not stored");
+                        }
+                    })
+                    .doFinally(() -> {
+                        synchronized (mSelfClaimLock) {
+                            if (profileRevision.equals(mPendingSelfClaimRevision)) {
+                                mPendingSelfClaim = null;
+                                mPendingSelfClaimRevision = null;
+                            }
+                        }
+                    })
+                    .cache();
+            return mPendingSelfClaim;
         }
     }
 
-    @SuppressWarnings("ResultOfMethodCallIgnored")
     private void shareCredentialPresentation(@NonNull final CredentialsPresentation credentialsPresentation) {
-        BackgroundThreadHandler.singleBackgroundThreadHandler().post(() ->
-                mPingOneWalletClient.presentCredentials(credentialsPresentation)
-                        .subscribeOn(Schedulers.io())
-                        .observeOn(AndroidSchedulers.mainThread())
-                        .subscribe(presentationResult -> {
-                            switch (presentationResult.getPresentationStatus().getStatus()) {
-                                case SUCCESS:
-                                    mNotificationUtil.showToast("Information sent successfully");
-                                    break;
-                                case FAILURE:
-                                    mNotificationUtil.showToast("Failed to present credential");
-                                    if (presentationResult.getError() != null) {
-                                        Log.e(TAG, "\"Error sharing information: ", presentationResult.getError());
-                                    }
-                                    Log.e(TAG, String.format("Presentation failed. %s", presentationResult.getDetails()));
-                                    break;
-                                case REQUIRES_ACTION:
-                                    handlePresentationAction(presentationResult.getPresentationStatus().getAction());
-                            }
-                        }));
+        if (!ConnectivityMonitor.getInstance().isOnline()) {
+            BackgroundThreadHandler.postOnMainThread(() -> mNotificationUtil.showToast("You are offline, the information will be sent once you reconnect"));
+        }
+        mOutbox.enqueuePresentation(credentialsPresentation, presentationResult -> BackgroundThreadHandler.postOnMainThread(() -> {
+            switch (presentationResult.getPresentationStatus().getStatus()) {
+                case SUCCESS:
+                    mNotificationUtil.showToast("Information sent successfully");
+                    break;
+                case FAILURE:
+                    mNotificationUtil.showToast("Failed to present credential");
+                    if (presentationResult.getError() != null) {
+                        Log.e(TAG, "\"Error sharing information: ", presentationResult.getError());
+                    }
+                    Log.e(TAG, String.format("Presentation failed. %s", presentationResult.getDetails()));
+                    break;
+                case REQUIRES_ACTION:
+                    handlePresentationAction(presentationResult.getPresentationStatus().getAction());
+            }
+        }), e -> BackgroundThreadHandler.postOnMainThread(() -> mNotificationUtil.showToast(hasCause(e, TimeoutException.class)
+                ? "The verifier did not respond in time, the information may not have been received"
+                : "Failed to present credential")));
     }
 
     private void handlePresentationAction(final PresentationAction action) {
@@ -289,6 +519,117 @@ public class PingOneWalletHelper implements WalletCallbackHandler {
         }
     }
 
+    // An OpenID4VP request names the verifier endpoint the presentation is posted to, every other request is answered through PingOne
+    @NonNull
+    private static String getRequestHost(@NonNull final PresentationRequest presentationRequest) {
+        final VerifiablePresentationRequest verifiableRequest = presentationRequest.getVerifiablePresentationRequest();
+        final HttpUrl redirectUrl = verifiableRequest == null || verifiableRequest.getRedirectUri() == null
+                ? null
+                : HttpUrl.parse(verifiableRequest.getRedirectUri());
+        return redirectUrl == null ? PINGONE_HOSTS[0] : redirectUrl.host();
+    }
+
+    private void notifyCallFailed(@NonNull final Throwable throwable) {
+        final String message;
+        if (hasCause(throwable, CircuitOpenException.class)) {
+            message = "Service temporarily unavailable, please try again shortly";
+        } else if (hasCause(throwable, TimeoutException.class)) {
+            message = "The request timed out";
+        } else {
+            message = "Failed to process request";
+        }
+        BackgroundThreadHandler.postOnMainThread(() -> mNotificationUtil.showToast(message));
+    }
+
+    // Blocking Rx calls wrap checked exceptions in a RuntimeException
+    private static boolean hasCause(@Nullable Throwable throwable, @NonNull final Class<? extends Throwable> type) {
+        while (throwable != null) {
+            if (type.isInstance(throwable)) {
+                return true;
+            }
+            throwable = throwable.getCause();
+        }
+        return false;
+    }
+
+    private void rememberHost(@NonNull final String host) {
+        synchronized (mRecentHosts) {
+            mRecentHosts.remove(host);
+            mRecentHosts.add(host);
+            final Iterator<String> iterator = mRecentHosts.iterator();
+            while (mRecentHosts.size() > MAX_REMEMBERED_HOSTS && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+            }
+        }
+    }
+
+    // Claims dominate the request body, and their embedded images most of all
+    private static long estimatePayloadBytes(@NonNull final CredentialsPresentation presentation) {
+        long bytes = 0;
+        if (presentation.getShares() != null) {
+            for (Share share : presentation.getShares()) {
+                if (share.getClaim() != null) {
+                    bytes += share.getClaim().toJson().length();
+                }
+            }
+        }
+        if (presentation.getVerifiablePresentation() != null) {
+            for (VerifiableCredential credential : presentation.getVerifiablePresentation().values()) {
+                if (credential != null && credential.getJwt() != null) {
+                    bytes += credential.getJwt().length();
+                }
+            }
+        }
+        return bytes;
+    }
+
+    private class OutboxSender implements Outbox.Sender {
+
+        @Override
+        public boolean canSend() {
+            return mPingOneWalletClient != null && ConnectivityMonitor.getInstance().isOnline();
+        }
+
+        @Override
+        public void reportDeletion(@NonNull Claim claim) {
+            mPingOneWalletClient.reportCredentialDeletion(claim);
+        }
+
+        @NonNull
+        @Override
+        public PresentationResult present(@NonNull CredentialsPresentation presentation) {
+            final long payloadBytes = estimatePayloadBytes(presentation);
+            final long startMillis = SystemClock.elapsedRealtime();
+            final PresentationResult result;
+            try {
+                result = mWalletCallGuard.call(OPERATION_PRESENT_CREDENTIALS, PRESENT_CREDENTIALS_POLICY, getRequestHost(presentation.getPresentationRequest()),
+                                () -> mPingOneWalletClient.presentCredentials(presentation))
+                        .blockingGet();
+            } catch (RuntimeException e) {
+                // Only a suspended circuit is retried by the outbox, see isRetryable
+                if (hasCause(e, CircuitOpenException.class)) {
+                    BackgroundThreadHandler.postOnMainThread(() -> mNotificationUtil.showToast("The verifier is not responding, retrying in the background"));
+                }
+                throw e;
+            }
+            final long uploadMillis = SystemClock.elapsedRealtime() - startMillis;
+            PerformanceMetrics.getInstance().recordValue(METRIC_PRESENTATION_PAYLOAD_BYTES, payloadBytes);
+            PerformanceMetrics.getInstance().recordDuration(METRIC_PRESENTATION_UPLOAD_TIME, uploadMillis);
+            Log.i(TAG, String.format("Presentation of ~%d bytes completed in %dms", payloadBytes, uploadMillis));
+            return result;
+        }
+
+        // A suspended circuit or a failed connect means nothing reached the verifier; a timeout may still be in flight
+        @Override
+        public boolean isRetryable(@NonNull Exception e) {
+            return hasCause(e, CircuitOpenException.class)
+                    || hasCause(e, ConnectException.class)
+                    || hasCause(e, UnknownHostException.class);
+        }
+
+    }
+
     @SuppressWarnings("unused")
     private static void getPushToken(@Nullable Consumer<String> resultConsumer) {
         final String pushToken = PingOneNotificationService.getPushToken().getValue();
@@ -0,0 +1,275 @@
+package com.pingidentity.sdk.pingonewallet.sample.network.outbox;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.util.Consumer;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import com.pingidentity.did.sdk.types.Claim;
+import com.pingidentity.sdk.pingonewallet.sample.storage.storage_manager.WalletStorageManager;
+import com.pingidentity.sdk.pingonewallet.sample.utils.JsonUtil;
+import com.pingidentity.sdk.pingonewallet.sample.utils.PerformanceMetrics;
+import com.pingidentity.sdk.pingonewallet.types.CredentialsPresentation;
+import com.pingidentity.sdk.pingonewallet.types.PresentationResult;
+import com.squareup.moshi.Types;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+public class Outbox {
+
+    public static final String TAG = Outbox.class.getCanonicalName();
+
+    public static final String METRIC_DRAIN_LATENCY = "outbox_drain_latency";
+    public static final String METRIC_SENT = "outbox_operations_sent";
+    public static final String METRIC_DELETIONS_HANDED_OFF = "outbox_deletions_handed_off";
+    public static final String METRIC_RETRIED = "outbox_operations_retried";
+    public static final String METRIC_EXPIRED = "outbox_operations_expired";
+    public static final String METRIC_FAILED = "outbox_operations_failed";
+
+    private static final String KEY_OUTBOX = "outbox_operations_preferences_key";
+
+    private static final int BATCH_SIZE = 10;
+    private static final long BASE_BACKOFF_MILLIS = TimeUnit.SECONDS.toMillis(2);
+    private static final long MAX_BACKOFF_MILLIS = TimeUnit.MINUTES.toMillis(5);
+    // A verifier session does not outlive this, so an older presentation is pointless to deliver
+    private static final long PRESENTATION_TTL_MILLIS = TimeUnit.MINUTES.toMillis(10);
+
+    public interface Sender {
+
+        // False while offline or while the wallet client is still being created
+        boolean canSend();
+
+        // The SDK sends the report in the background and never reports a failure, so this only hands it over
+        void reportDeletion(@NonNull Claim claim) throws Exception;
+
+        @NonNull
+        PresentationResult present(@NonNull CredentialsPresentation presentation) throws Exception;
+
+        // True only when the request is known not to have reached the verifier, so sending it again cannot duplicate it
+        boolean isRetryable(@NonNull Exception e);
+
+    }
+
+    private final WalletStorageManager mStorage;
+    private final JsonUtil mJsonUtil;
+    private final Sender mSender;
+    private final ScheduledExecutorService mExecutor = Executors.newSingleThreadScheduledExecutor();
+    private final Random mRandom = new Random();
+
+    private final Map<String, OutboxOperation> mOperations = new LinkedHashMap<>();
+    // Presentations reference SDK types that cannot be persisted, so they are only kept for this process
+    private final Map<String, PendingPresentation> mPresentations = new LinkedHashMap<>();
+    private final MutableLiveData<Integer> mQueueDepth = new MutableLiveData<>(0);
+    private ScheduledFuture<?> mScheduledDrain;
+
+    public Outbox(@NonNull final WalletStorageManager storageManager, @NonNull final JsonUtil jsonUtil, @NonNull final Sender sender) {
+        mStorage = storageManager;
+        mJsonUtil = jsonUtil;
+        mSender = sender;
+        mExecutor.execute(() -> {
+            load();
+            drain();
+        });
+    }
+
+    public LiveData<Integer> getQueueDepth() {
+        return mQueueDepth;
+    }
+
+    public void enqueueDeletionReport(@NonNull final Claim claim) {
+        enqueueDeletionReports(Collections.singletonList(claim));
+    }
+
+    public void enqueueDeletionReports(@NonNull final Collection<Claim> claims) {
+        final long now = System.currentTimeMillis();
+        final List<OutboxOperation> operations = new ArrayList<>();
+        for (Claim claim : claims) {
+            operations.add(new OutboxOperation(OutboxOperation.TYPE_DELETION_REPORT + "_" + claim.getId(),
+                    OutboxOperation.TYPE_DELETION_REPORT, claim.toJson(), now, 0));
+        }
+        mExecutor.execute(() -> {
+            for (OutboxOperation operation : operations) {
+                mOperations.put(operation.getId(), operation);
+            }
+            persist();
+            drain();
+        });
+    }
+
+    public void enqueuePresentation(@NonNull final CredentialsPresentation presentation, @NonNull final Consumer<PresentationResult> resultConsumer,
+                                    @NonNull final Consumer<Exception> failureConsumer) {
+        final String sessionId = presentation.getPresentationRequest().getSessionId();
+        final String id = OutboxOperation.TYPE_PRESENTATION + "_" + (sessionId == null ? UUID.randomUUID() : sessionId);
+        final long now = System.currentTimeMillis();
+        mExecutor.execute(() -> {
+            mOperations.put(id, new OutboxOperation(id, OutboxOperation.TYPE_PRESENTATION, null, now, now + PRESENTATION_TTL_MILLIS));
+            mPresentations.put(id, new PendingPresentation(presentation, resultConsumer, failureConsumer));
+            drain();
+        });
+    }
+
+    // Skips the remaining backoff of every pending operation
+    public void onConnectivityRestored() {
+        mExecutor.execute(() -> {
+            final long now = System.currentTimeMillis();
+            for (OutboxOperation operation : mOperations.values()) {
+                operation.retryNow(now);
+            }
+            drain();
+        });
+    }
+
+    private void drain() {
+        final long now = System.currentTimeMillis();
+        final List<OutboxOperation> batch = new ArrayList<>();
+        for (OutboxOperation operation : new ArrayList<>(mOperations.values())) {
+            if (operation.isExpired(now)) {
+                PerformanceMetrics.getInstance().increment(METRIC_EXPIRED);
+                remove(operation);
+            } else if (operation.isDue(now) && batch.size() < BATCH_SIZE) {
+                batch.add(operation);
+            }
+        }
+
+        if (!batch.isEmpty() && mSender.canSend()) {
+            for (OutboxOperation operation : batch) {
+                send(operation);
+            }
+        } else {
+            for (OutboxOperation operation : batch) {
+                operation.onAttemptFailed(now + getBackoffMillis(operation.getAttempts()));
+            }
+        }
+
+        persist();
+        scheduleNextDrain();
+    }
+
+    // Deletion reports are only held until the wallet is online, presentations are retried until they succeed or expire
+    private void send(@NonNull final OutboxOperation operation) {
+        try {
+            if (OutboxOperation.TYPE_DELETION_REPORT.equals(operation.getType())) {
+                final Claim claim = readClaim(operation);
+                if (claim != null) {
+                    mSender.reportDeletion(claim);
+                }
+                PerformanceMetrics.getInstance().increment(METRIC_DELETIONS_HANDED_OFF);
+            } else if (OutboxOperation.TYPE_PRESENTATION.equals(operation.getType())) {
+                final PendingPresentation pending = mPresentations.get(operation.getId());
+                if (pending != null) {
+                    pending.mResultConsumer.accept(mSender.present(pending.mPresentation));
+                }
+                PerformanceMetrics.getInstance().increment(METRIC_SENT);
+            }
+            PerformanceMetrics.getInstance().recordDuration(METRIC_DRAIN_LATENCY, System.currentTimeMillis() - operation.getEnqueuedAtMillis());
+            remove(operation);
+        } catch (Exception e) {
+            // The idempotency key only exists on the device, so a presentation that may have been sent is never sent again
+            final PendingPresentation pending = mPresentations.get(operation.getId());
+            if (pending != null && !mSender.isRetryable(e)) {
+                Log.e(TAG, String.format("Outbox operation %s failed and may have been delivered, not retrying", operation.getId()), e);
+                PerformanceMetrics.getInstance().increment(METRIC_FAILED);
+                remove(operation);
+                pending.mFailureConsumer.accept(e);
+                return;
+            }
+            Log.w(TAG, String.format("Outbox operation %s failed, attempt %d", operation.getId(), operation.getAttempts() + 1), e);
+            PerformanceMetrics.getInstance().increment(METRIC_RETRIED);
+            operation.onAttemptFailed(System.currentTimeMillis() + getBackoffMillis(operation.getAttempts()));
+        }
+    }
+
+    // An entry that can no longer be parsed would otherwise be retried forever
+    @Nullable
+    private static Claim readClaim(@NonNull final OutboxOperation operation) {
+        try {
+            return Claim.fromJson(operation.getPayload());
+        } catch (IOException | RuntimeException e) {
+            Log.e(TAG, "Dropping unreadable outbox operation " + operation.getId(), e);
+            return null;
+        }
+    }
+
+    private void remove(@NonNull final OutboxOperation operation) {
+        mOperations.remove(operation.getId());
+        mPresentations.remove(operation.getId());
+    }
+
+    private void scheduleNextDrain() {
+        if (mScheduledDrain != null) {
+            mScheduledDrain.cancel(false);
+            mScheduledDrain = null;
+        }
+        mQueueDepth.postValue(mOperations.size());
+        if (mOperations.isEmpty()) {
+            return;
+        }
+        long nextAttemptAtMillis = Long.MAX_VALUE;
+        for (OutboxOperation operation : mOperations.values()) {
+            nextAttemptAtMillis = Math.min(nextAttemptAtMillis, operation.getNextAttemptAtMillis());
+        }
+        final long delayMillis = Math.max(0, nextAttemptAtMillis - System.currentTimeMillis());
+        mScheduledDrain = mExecutor.schedule(this::drain, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    // Full jitter, so that many wallets coming back online do not retry in lockstep
+    private long getBackoffMillis(final int attempts) {
+        final long ceiling = Math.min(MAX_BACKOFF_MILLIS, BASE_BACKOFF_MILLIS << Math.min(attempts, 16));
+        return (long) (mRandom.nextDouble() * ceiling);
+    }
+
+    private void load() {
+        final String rawValue = mStorage.getString(KEY_OUTBOX);
+        if (rawValue == null) {
+            return;
+        }
+        final List<OutboxOperation> operations = mJsonUtil.fromJson(rawValue, Types.newParameterizedType(List.class, OutboxOperation.class));
+        if (operations == null) {
+            return;
+        }
+        for (OutboxOperation operation : operations) {
+            mOperations.put(operation.getId(), operation);
+        }
+    }
+
+    private void persist() {
+        final List<OutboxOperation> durable = new ArrayList<>();
+        for (OutboxOperation operation : mOperations.values()) {
+            if (!mPresentations.containsKey(operation.getId())) {
+                durable.add(operation);
+            }
+        }
+        mStorage.saveString(mJsonUtil.toJson(durable, Types.newParameterizedType(List.class, OutboxOperation.class)), KEY_OUTBOX);
+    }
+
+    private static class PendingPresentation {
+
+        private final CredentialsPresentation mPresentation;
+        private final Consumer<PresentationResult> mResultConsumer;
+        private final Consumer<Exception> mFailureConsumer;
+
+        PendingPresentation(@NonNull final CredentialsPresentation presentation, @NonNull final Consumer<PresentationResult> resultConsumer,
+                            @NonNull final Consumer<Exception> failureConsumer) {
+            mPresentation = presentation;
+            mResultConsumer = resultConsumer;
+            mFailureConsumer = failureConsumer;
+        }
+
+    }
+
+}
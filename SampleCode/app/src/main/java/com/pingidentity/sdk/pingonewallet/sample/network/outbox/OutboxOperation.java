@@ -0,0 +1,75 @@
+package com.pingidentity.sdk.pingonewallet.sample.network.outbox;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+public class OutboxOperation {
+
+    public static final String TYPE_DELETION_REPORT = "deletion_report";
+    public static final String TYPE_PRESENTATION = "presentation";
+
+    // Doubles as the idempotency key: enqueuing the same id again replaces the pending operation
+    private String id;
+    private String type;
+    private String payload;
+    private long enqueuedAtMillis;
+    private long expiresAtMillis;
+    private int attempts;
+    private long nextAttemptAtMillis;
+
+    public OutboxOperation() {
+    }
+
+    public OutboxOperation(@NonNull final String id, @NonNull final String type, @Nullable final String payload,
+                           final long enqueuedAtMillis, final long expiresAtMillis) {
+        this.id = id;
+        this.type = type;
+        this.payload = payload;
+        this.enqueuedAtMillis = enqueuedAtMillis;
+        this.expiresAtMillis = expiresAtMillis;
+        this.nextAttemptAtMillis = enqueuedAtMillis;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    @Nullable
+    public String getPayload() {
+        return payload;
+    }
+
+    public long getEnqueuedAtMillis() {
+        return enqueuedAtMillis;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public long getNextAttemptAtMillis() {
+        return nextAttemptAtMillis;
+    }
+
+    public boolean isDue(final long nowMillis) {
+        return nextAttemptAtMillis <= nowMillis;
+    }
+
+    public boolean isExpired(final long nowMillis) {
+        return expiresAtMillis > 0 && expiresAtMillis <= nowMillis;
+    }
+
+    void onAttemptFailed(final long nextAttemptAtMillis) {
+        this.attempts++;
+        this.nextAttemptAtMillis = nextAttemptAtMillis;
+    }
+
+    void retryNow(final long nowMillis) {
+        this.nextAttemptAtMillis = nowMillis;
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.pingidentity.sdk.pingonewallet.sample.network.resilience;
+
+import java.util.concurrent.TimeUnit;
+
+public class CallPolicy {
+
+    private static final long DEFAULT_RETRY_BACKOFF_MILLIS = 500;
+
+    private final long mTimeoutMillis;
+    private final int mMaxRetries;
+    private final long mRetryBackoffMillis;
+
+    // Retries are only safe for calls the remote side can receive twice without a second effect
+    public static CallPolicy idempotent(final long timeout, final TimeUnit unit, final int maxRetries) {
+        return new CallPolicy(unit.toMillis(timeout), maxRetries, DEFAULT_RETRY_BACKOFF_MILLIS);
+    }
+
+    public static CallPolicy singleAttempt(final long timeout, final TimeUnit unit) {
+        return new CallPolicy(unit.toMillis(timeout), 0, 0);
+    }
+
+    public CallPolicy(final long timeoutMillis, final int maxRetries, final long retryBackoffMillis) {
+        mTimeoutMillis = timeoutMillis;
+        mMaxRetries = maxRetries;
+        mRetryBackoffMillis = retryBackoffMillis;
+    }
+
+    public long getTimeoutMillis() {
+        return mTimeoutMillis;
+    }
+
+    public int getMaxRetries() {
+        return mMaxRetries;
+    }
+
+    // Doubles on every retry
+    public long getRetryBackoffMillis(final int retry) {
+        return mRetryBackoffMillis << Math.min(retry, 8);
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.pingidentity.sdk.pingonewallet.sample.network.resilience;
+
+import android.os.SystemClock;
+
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        // The open period has passed and a single trial call is in flight
+        HALF_OPEN
+    }
+
+    private final int mFailureThreshold;
+    private final long mOpenMillis;
+
+    private State mState = State.CLOSED;
+    private int mConsecutiveFailures;
+    private long mOpenedAtMillis;
+
+    public CircuitBreaker(final int failureThreshold, final long openMillis) {
+        mFailureThreshold = failureThreshold;
+        mOpenMillis = openMillis;
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (mState == State.CLOSED) {
+            return true;
+        }
+        // A trial that never reported back, e.g. because it was disposed, must not hold the circuit forever
+        final long now = SystemClock.elapsedRealtime();
+        if (now - mOpenedAtMillis < mOpenMillis) {
+            return false;
+        }
+        mState = State.HALF_OPEN;
+        mOpenedAtMillis = now;
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        mConsecutiveFailures = 0;
+        mState = State.CLOSED;
+    }
+
+    public synchronized void onFailure() {
+        mConsecutiveFailures++;
+        if (mState == State.HALF_OPEN || mConsecutiveFailures >= mFailureThreshold) {
+            mState = State.OPEN;
+            mOpenedAtMillis = SystemClock.elapsedRealtime();
+        }
+    }
+
+    public synchronized State getState() {
+        return mState;
+    }
+
+}
@@ -0,0 +1,11 @@
+package com.pingidentity.sdk.pingonewallet.sample.network.resilience;
+
+import androidx.annotation.NonNull;
+
+public class CircuitOpenException extends Exception {
+
+    public CircuitOpenException(@NonNull final String host) {
+        super("Calls to " + host + " are suspended after repeated failures");
+    }
+
+}
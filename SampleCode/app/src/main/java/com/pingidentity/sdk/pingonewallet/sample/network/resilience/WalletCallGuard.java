@@ -0,0 +1,135 @@
+package com.pingidentity.sdk.pingonewallet.sample.network.resilience;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.pingidentity.sdk.pingonewallet.sample.utils.PerformanceMetrics;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+
+public class WalletCallGuard {
+
+    public static final String TAG = WalletCallGuard.class.getCanonicalName();
+
+    public static final String METRIC_PREFIX = "wallet_call_";
+
+    private static final int DEFAULT_FAILURE_THRESHOLD = 5;
+    private static final long DEFAULT_OPEN_MILLIS = TimeUnit.SECONDS.toMillis(30);
+
+    private final int mFailureThreshold;
+    private final long mOpenMillis;
+    private final Map<String, CircuitBreaker> mBreakers = new ConcurrentHashMap<>();
+
+    public WalletCallGuard() {
+        this(DEFAULT_FAILURE_THRESHOLD, DEFAULT_OPEN_MILLIS);
+    }
+
+    public WalletCallGuard(final int failureThreshold, final long openMillis) {
+        mFailureThreshold = failureThreshold;
+        mOpenMillis = openMillis;
+    }
+
+    // A null host skips the circuit breaker, for work that never leaves the device
+    @NonNull
+    public <T> Single<T> call(@NonNull final String operation, @NonNull final CallPolicy policy, @Nullable final String host, @NonNull final Callable<Single<T>> source) {
+        return Single.defer(() -> {
+            final long startMillis = SystemClock.elapsedRealtime();
+            return attempt(operation, policy, host, source, 0)
+                    .doOnSuccess(result -> onOutcome(operation, "success", startMillis))
+                    .doOnError(throwable -> onOutcome(operation, getOutcome(throwable), startMillis));
+        });
+    }
+
+    // For the blocking SDK calls, which are moved off the calling thread so the deadline can be enforced
+    @NonNull
+    public Completable run(@NonNull final String operation, @NonNull final CallPolicy policy, @Nullable final String host, @NonNull final Runnable runnable) {
+        return call(operation, policy, host, () -> Single.fromCallable(() -> {
+            runnable.run();
+            return Boolean.TRUE;
+        }).subscribeOn(Schedulers.io())).ignoreElement();
+    }
+
+    @Nullable
+    public CircuitBreaker.State getState(@NonNull final String host) {
+        final CircuitBreaker breaker = mBreakers.get(host);
+        return breaker == null ? null : breaker.getState();
+    }
+
+    @NonNull
+    private <T> Single<T> attempt(@NonNull final String operation, @NonNull final CallPolicy policy, @Nullable final String host, @NonNull final Callable<Single<T>> source, final int retry) {
+        return Single.defer(() -> {
+            final CircuitBreaker breaker = host == null ? null : getBreaker(host);
+            if (breaker != null && !breaker.tryAcquire()) {
+                return Single.<T>error(new CircuitOpenException(host));
+            }
+            return source.call()
+                    .timeout(policy.getTimeoutMillis(), TimeUnit.MILLISECONDS, Schedulers.io())
+                    .doOnSuccess(result -> {
+                        if (breaker != null) {
+                            breaker.onSuccess();
+                        }
+                    })
+                    .doOnError(throwable -> {
+                        // Anything but a transport failure means the host answered, so it does not count against it
+                        if (breaker != null) {
+                            if (isTransient(throwable)) {
+                                breaker.onFailure();
+                            } else {
+                                breaker.onSuccess();
+                            }
+                        }
+                    });
+        }).onErrorResumeNext(throwable -> {
+            // A timed out attempt may still be running inside the SDK, so only failed ones are retried
+            if (retry >= policy.getMaxRetries() || throwable instanceof TimeoutException || !isTransient(throwable)) {
+                return Single.error(throwable);
+            }
+            Log.w(TAG, String.format("%s failed, retry %d of %d", operation, retry + 1, policy.getMaxRetries()), throwable);
+            PerformanceMetrics.getInstance().increment(METRIC_PREFIX + operation + "_retried");
+            return Single.timer(policy.getRetryBackoffMillis(retry), TimeUnit.MILLISECONDS, Schedulers.io())
+                    .flatMap(tick -> attempt(operation, policy, host, source, retry + 1));
+        });
+    }
+
+    @NonNull
+    private CircuitBreaker getBreaker(@NonNull final String host) {
+        return mBreakers.computeIfAbsent(host, key -> new CircuitBreaker(mFailureThreshold, mOpenMillis));
+    }
+
+    private static void onOutcome(@NonNull final String operation, @NonNull final String outcome, final long startMillis) {
+        PerformanceMetrics.getInstance().increment(METRIC_PREFIX + operation + "_" + outcome);
+        PerformanceMetrics.getInstance().recordDuration(METRIC_PREFIX + operation + "_latency", SystemClock.elapsedRealtime() - startMillis);
+    }
+
+    @NonNull
+    private static String getOutcome(@NonNull final Throwable throwable) {
+        if (throwable instanceof CircuitOpenException) {
+            return "rejected";
+        }
+        return throwable instanceof TimeoutException ? "timeout" : "failure";
+    }
+
+    // The SDK wraps transport errors, so the whole cause chain is checked
+    public static boolean isTransient(@Nullable Throwable throwable) {
+        while (throwable != null) {
+            if (throwable instanceof IOException || throwable instanceof TimeoutException) {
+                return true;
+            }
+            throwable = throwable.getCause();
+        }
+        return false;
+    }
+
+}
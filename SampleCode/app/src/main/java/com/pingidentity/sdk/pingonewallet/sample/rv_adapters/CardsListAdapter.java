@@ -4,25 +4,77 @@ import android.view.LayoutInflater;
 import android.view.ViewGroup;
 
 import androidx.annotation.NonNull;
-import androidx.recyclerview.widget.RecyclerView;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 
+import com.pingidentity.did.sdk.types.Claim;
 import com.pingidentity.sdk.pingonewallet.sample.databinding.ItemCredentialCardBinding;
 import com.pingidentity.sdk.pingonewallet.sample.models.Credential;
 import com.pingidentity.sdk.pingonewallet.sample.rv_adapters.view_holders.CardViewHolder;
 import com.pingidentity.sdk.pingonewallet.sample.callbacks.DocumentClickListener;
+import com.pingidentity.sdk.pingonewallet.sample.callbacks.SelectionListener;
+import com.pingidentity.sdk.pingonewallet.sample.callbacks.ThumbnailProvider;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.UUID;
 
-public class CardsListAdapter extends RecyclerView.Adapter<CardViewHolder> {
+public class CardsListAdapter extends ListAdapter<Credential, CardViewHolder> {
 
     public static final String TAG = CardsListAdapter.class.getCanonicalName();
 
-    private final List<Credential> mCardsList;
+    // Selection changes only toggle the activated state, so the thumbnail and text are not bound again
+    private static final Object PAYLOAD_SELECTION = new Object();
+
+    private static final DiffUtil.ItemCallback<Credential> DIFF_CALLBACK = new DiffUtil.ItemCallback<Credential>() {
+        @Override
+        public boolean areItemsTheSame(@NonNull Credential oldItem, @NonNull Credential newItem) {
+            return oldItem.getClaim().getId().equals(newItem.getClaim().getId());
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Credential oldItem, @NonNull Credential newItem) {
+            return oldItem.getCardModel().equals(newItem.getCardModel());
+        }
+    };
+
+    private final ThumbnailProvider mThumbnailProvider;
     private final DocumentClickListener mCallback;
+    private final SelectionListener mSelectionListener;
+    private final Set<UUID> mSelectedIds = new HashSet<>();
 
-    public CardsListAdapter(final List<Credential> cardsList, DocumentClickListener callback) {
-        this.mCardsList = cardsList;
+    public CardsListAdapter(ThumbnailProvider thumbnailProvider, DocumentClickListener callback, SelectionListener selectionListener) {
+        super(DIFF_CALLBACK);
+        this.mThumbnailProvider = thumbnailProvider;
         this.mCallback = callback;
+        this.mSelectionListener = selectionListener;
+        setHasStableIds(true);
+    }
+
+    public boolean isSelectionMode() {
+        return !mSelectedIds.isEmpty();
+    }
+
+    @NonNull
+    public List<Claim> getSelectedClaims() {
+        final List<Claim> claims = new ArrayList<>();
+        for (Credential credential : getCurrentList()) {
+            if (mSelectedIds.contains(credential.getClaim().getId())) {
+                claims.add(credential.getClaim());
+            }
+        }
+        return claims;
+    }
+
+    public void clearSelection() {
+        if (mSelectedIds.isEmpty()) {
+            return;
+        }
+        mSelectedIds.clear();
+        notifyItemRangeChanged(0, getItemCount(), PAYLOAD_SELECTION);
+        mSelectionListener.onSelectionChanged(0);
     }
 
     @NonNull
@@ -35,17 +87,65 @@ public class CardsListAdapter extends RecyclerView.Adapter<CardViewHolder> {
 
     @Override
     public void onBindViewHolder(@NonNull CardViewHolder holder, int position) {
-        holder.bind(mCardsList.get(position), mCallback);
+        final Credential credential = getItem(position);
+        holder.bind(credential, mThumbnailProvider, this::onCardClicked, mSelectedIds.contains(credential.getClaim().getId()), this::toggleSelection);
     }
 
     @Override
-    public long getItemId(int position) {
-        return position;
+    public void onBindViewHolder(@NonNull CardViewHolder holder, int position, @NonNull List<Object> payloads) {
+        if (payloads.isEmpty() || !payloads.stream().allMatch(payload -> payload == PAYLOAD_SELECTION)) {
+            super.onBindViewHolder(holder, position, payloads);
+            return;
+        }
+        holder.setSelected(mSelectedIds.contains(getItem(position).getClaim().getId()));
     }
 
     @Override
-    public int getItemCount() {
-        return mCardsList.size();
+    public void onCurrentListChanged(@NonNull List<Credential> previousList, @NonNull List<Credential> currentList) {
+        super.onCurrentListChanged(previousList, currentList);
+        if (mSelectedIds.isEmpty()) {
+            return;
+        }
+        // Credentials deleted or filtered out by a search can no longer be selected
+        final Set<UUID> visibleIds = new HashSet<>();
+        for (Credential credential : currentList) {
+            visibleIds.add(credential.getClaim().getId());
+        }
+        if (mSelectedIds.retainAll(visibleIds)) {
+            mSelectionListener.onSelectionChanged(mSelectedIds.size());
+        }
+    }
+
+    private void onCardClicked(@NonNull final Credential credential) {
+        if (isSelectionMode()) {
+            toggleSelection(credential);
+        } else {
+            mCallback.onActionClick(credential);
+        }
+    }
+
+    private void toggleSelection(@NonNull final Credential credential) {
+        final UUID claimId = credential.getClaim().getId();
+        if (!mSelectedIds.remove(claimId)) {
+            mSelectedIds.add(claimId);
+        }
+        final int position = getCurrentList().indexOf(credential);
+        if (position >= 0) {
+            notifyItemChanged(position, PAYLOAD_SELECTION);
+        }
+        mSelectionListener.onSelectionChanged(mSelectedIds.size());
+    }
+
+    @Override
+    public void onViewRecycled(@NonNull CardViewHolder holder) {
+        super.onViewRecycled(holder);
+        holder.recycle();
+    }
+
+    @Override
+    public long getItemId(int position) {
+        final UUID claimId = getItem(position).getClaim().getId();
+        return claimId.getMostSignificantBits() ^ claimId.getLeastSignificantBits();
     }
 
 }
@@ -7,24 +7,17 @@ import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.pingidentity.sdk.pingonewallet.sample.databinding.ItemCredentialDetailsBinding;
+import com.pingidentity.sdk.pingonewallet.sample.models.CredentialCardModel;
 import com.pingidentity.sdk.pingonewallet.sample.rv_adapters.view_holders.DetailsViewHolder;
-import com.pingidentity.sdk.pingonewallet.sample.utils.BitmapUtil;
 
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 public class CredentialDetailsAdapter extends RecyclerView.Adapter<DetailsViewHolder> {
 
-    final Map<String, String> mClaimData;
-    final List<String> orderedKeys;
+    final List<CredentialCardModel.DetailRow> mDetailRows;
 
-    public CredentialDetailsAdapter(Map<String, String> data) {
-        mClaimData = data;
-        orderedKeys = data.keySet().stream()
-                .filter(s -> !BitmapUtil.getImageKeys().contains(s.toLowerCase()))
-                .sorted()
-                .collect(Collectors.toList());
+    public CredentialDetailsAdapter(List<CredentialCardModel.DetailRow> detailRows) {
+        mDetailRows = detailRows;
     }
 
     @NonNull
@@ -37,14 +30,13 @@ public class CredentialDetailsAdapter extends RecyclerView.Adapter<DetailsViewHo
 
     @Override
     public void onBindViewHolder(@NonNull DetailsViewHolder holder, int position) {
-        String key = orderedKeys.get(position);
-        String value = mClaimData.getOrDefault(key, "");
-        holder.bind(key, value);
+        CredentialCardModel.DetailRow detailRow = mDetailRows.get(position);
+        holder.bind(detailRow.getKey(), detailRow.getValue());
     }
 
     @Override
     public int getItemCount() {
-        return orderedKeys.size();
+        return mDetailRows.size();
     }
 
 }
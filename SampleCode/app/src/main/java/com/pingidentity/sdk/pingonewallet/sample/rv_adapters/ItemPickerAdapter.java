@@ -7,6 +7,7 @@ import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.pingidentity.did.sdk.types.Claim;
+import com.pingidentity.sdk.pingonewallet.sample.callbacks.ThumbnailProvider;
 import com.pingidentity.sdk.pingonewallet.sample.databinding.ItemPickerBinding;
 import com.pingidentity.sdk.pingonewallet.sample.rv_adapters.view_holders.ItemPickerViewHolder;
 import com.pingidentity.sdk.pingonewallet.sample.ui.item_picker.ItemPickerFragment;
@@ -16,10 +17,12 @@ import java.util.List;
 public class ItemPickerAdapter extends RecyclerView.Adapter<ItemPickerViewHolder> {
 
     private final List<Claim> mClaimList;
+    private final ThumbnailProvider mThumbnailProvider;
     private final ItemPickerFragment.ItemPickerListener mItemPickerListener;
 
-    public ItemPickerAdapter(List<Claim> data, ItemPickerFragment.ItemPickerListener itemPickerListener) {
+    public ItemPickerAdapter(List<Claim> data, ThumbnailProvider thumbnailProvider, ItemPickerFragment.ItemPickerListener itemPickerListener) {
         this.mClaimList = data;
+        this.mThumbnailProvider = thumbnailProvider;
         this.mItemPickerListener = itemPickerListener;
     }
 
@@ -33,7 +36,13 @@ public class ItemPickerAdapter extends RecyclerView.Adapter<ItemPickerViewHolder
 
     @Override
     public void onBindViewHolder(@NonNull ItemPickerViewHolder holder, int position) {
-        holder.bind(mClaimList.get(position), mItemPickerListener);
+        holder.bind(mClaimList.get(position), mThumbnailProvider, mItemPickerListener);
+    }
+
+    @Override
+    public void onViewRecycled(@NonNull ItemPickerViewHolder holder) {
+        super.onViewRecycled(holder);
+        holder.recycle();
     }
 
     @Override
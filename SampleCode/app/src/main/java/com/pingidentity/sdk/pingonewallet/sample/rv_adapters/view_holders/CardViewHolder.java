@@ -1,36 +1,82 @@
 package com.pingidentity.sdk.pingonewallet.sample.rv_adapters.view_holders;
 
 import android.graphics.Bitmap;
+import android.util.Log;
 import android.view.View;
 
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.pingidentity.sdk.pingonewallet.sample.databinding.ItemCredentialCardBinding;
 import com.pingidentity.sdk.pingonewallet.sample.callbacks.DocumentClickListener;
+import com.pingidentity.sdk.pingonewallet.sample.callbacks.ThumbnailProvider;
 import com.pingidentity.sdk.pingonewallet.sample.models.Credential;
-import com.pingidentity.sdk.pingonewallet.sample.utils.BitmapUtil;
+import com.pingidentity.sdk.pingonewallet.sample.models.CredentialCardModel;
+import com.pingidentity.sdk.pingonewallet.sample.models.ThumbnailSize;
+import com.pingidentity.sdk.pingonewallet.sample.utils.ThumbnailCache;
+
+import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
+import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
 
 public class CardViewHolder extends RecyclerView.ViewHolder {
 
+    public static final String TAG = CardViewHolder.class.getCanonicalName();
+
     private final ItemCredentialCardBinding mBinding;
+    private Disposable mThumbnailLoad;
 
     public CardViewHolder(ItemCredentialCardBinding binding) {
         super(binding.getRoot());
         this.mBinding = binding;
     }
 
-    public void bind(Credential credential, DocumentClickListener callback) {
-        String cardType = credential.getClaim().getData().getOrDefault("CardType", "");
-        mBinding.txtCardTitle.setText(cardType);
-        Bitmap image = BitmapUtil.getBitmapFromClaim(credential.getClaim());
-        if (image != null) {
-            mBinding.cardFrontImage.setVisibility(View.VISIBLE);
-            mBinding.cardFrontImage.setImageBitmap(image);
-        } else {
-            mBinding.cardFrontImage.setVisibility(View.GONE);
-        }
-        mBinding.viewExpired.setVisibility(credential.isRevoked() ? View.VISIBLE : View.GONE);
+    public void bind(Credential credential, ThumbnailProvider thumbnailProvider, DocumentClickListener callback,
+                     boolean selected, DocumentClickListener longClickCallback) {
+        final CredentialCardModel cardModel = credential.getCardModel();
+        mBinding.txtCardTitle.setText(cardModel.getTitle());
+        recycle();
+        loadThumbnail(credential, thumbnailProvider);
+        mBinding.viewExpired.setVisibility(cardModel.isRevoked() ? View.VISIBLE : View.GONE);
+        setSelected(selected);
         mBinding.layoutDocument.setOnClickListener(v -> callback.onActionClick(credential));
+        mBinding.layoutDocument.setOnLongClickListener(v -> {
+            longClickCallback.onActionClick(credential);
+            return true;
+        });
+    }
+
+    public void setSelected(boolean selected) {
+        mBinding.layoutDocument.setActivated(selected);
+    }
+
+    public void recycle() {
+        if (mThumbnailLoad != null) {
+            mThumbnailLoad.dispose();
+            mThumbnailLoad = null;
+        }
+        mBinding.cardFrontImage.setImageBitmap(null);
+    }
+
+    // Thumbnails are stored encrypted, so only a cached one is shown during the bind and the rest are decoded off the main thread
+    private void loadThumbnail(Credential credential, ThumbnailProvider thumbnailProvider) {
+        final Bitmap cached = ThumbnailCache.getInstance().get(credential.getClaim().getId().toString(), ThumbnailSize.MEDIUM);
+        if (cached != null) {
+            setThumbnail(cached);
+            return;
+        }
+        mBinding.cardFrontImage.setVisibility(credential.getCardModel().isThumbnailReady() ? View.INVISIBLE : View.GONE);
+        mThumbnailLoad = Maybe.fromCallable(() -> thumbnailProvider.getThumbnail(credential.getClaim(), ThumbnailSize.MEDIUM))
+                .subscribeOn(Schedulers.io())
+                .observeOn(AndroidSchedulers.mainThread())
+                .subscribe(this::setThumbnail,
+                        throwable -> Log.e(TAG, "Failed to load credential thumbnail", throwable),
+                        () -> mBinding.cardFrontImage.setVisibility(View.GONE));
+    }
+
+    private void setThumbnail(Bitmap thumbnail) {
+        mBinding.cardFrontImage.setVisibility(View.VISIBLE);
+        mBinding.cardFrontImage.setImageBitmap(thumbnail);
     }
 
 }
\ No newline at end of file
@@ -1,28 +1,61 @@
 package com.pingidentity.sdk.pingonewallet.sample.rv_adapters.view_holders;
 
 import android.graphics.Bitmap;
+import android.util.Log;
 
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.pingidentity.did.sdk.types.Claim;
+import com.pingidentity.sdk.pingonewallet.sample.callbacks.ThumbnailProvider;
 import com.pingidentity.sdk.pingonewallet.sample.databinding.ItemPickerBinding;
+import com.pingidentity.sdk.pingonewallet.sample.models.ThumbnailSize;
 import com.pingidentity.sdk.pingonewallet.sample.ui.item_picker.ItemPickerFragment;
-import com.pingidentity.sdk.pingonewallet.sample.utils.BitmapUtil;
+import com.pingidentity.sdk.pingonewallet.sample.utils.ThumbnailCache;
+
+import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
+import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
 
 public class ItemPickerViewHolder extends RecyclerView.ViewHolder {
 
+    public static final String TAG = ItemPickerViewHolder.class.getCanonicalName();
+
     private final ItemPickerBinding mBinding;
+    private Disposable mThumbnailLoad;
 
     public ItemPickerViewHolder(ItemPickerBinding binding) {
         super(binding.getRoot());
         this.mBinding = binding;
     }
 
-    public void bind(Claim claim, ItemPickerFragment.ItemPickerListener itemPickerListener) {
+    public void bind(Claim claim, ThumbnailProvider thumbnailProvider, ItemPickerFragment.ItemPickerListener itemPickerListener) {
         String type = String.valueOf(claim.getData().get("CardType"));
-        Bitmap image = BitmapUtil.getBitmapFromClaim(claim);
+        recycle();
+        loadThumbnail(claim, thumbnailProvider);
         mBinding.txtCardType.setText(type);
-        mBinding.imgCard.setImageBitmap(image);
         mBinding.layout.setOnClickListener(view -> itemPickerListener.onItemPicked(claim));
     }
+
+    public void recycle() {
+        if (mThumbnailLoad != null) {
+            mThumbnailLoad.dispose();
+            mThumbnailLoad = null;
+        }
+        mBinding.imgCard.setImageBitmap(null);
+    }
+
+    private void loadThumbnail(Claim claim, ThumbnailProvider thumbnailProvider) {
+        final Bitmap cached = ThumbnailCache.getInstance().get(claim.getId().toString(), ThumbnailSize.SMALL);
+        if (cached != null) {
+            mBinding.imgCard.setImageBitmap(cached);
+            return;
+        }
+        mThumbnailLoad = Maybe.fromCallable(() -> thumbnailProvider.getThumbnail(claim, ThumbnailSize.SMALL))
+                .subscribeOn(Schedulers.io())
+                .observeOn(AndroidSchedulers.mainThread())
+                .subscribe(mBinding.imgCard::setImageBitmap,
+                        throwable -> Log.e(TAG, "Failed to load credential thumbnail", throwable));
+    }
+
 }
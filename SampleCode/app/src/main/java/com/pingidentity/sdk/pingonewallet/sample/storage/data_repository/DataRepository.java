@@ -1,13 +1,24 @@
 package com.pingidentity.sdk.pingonewallet.sample.storage.data_repository;
 
+import android.graphics.Bitmap;
+
 import androidx.annotation.NonNull;
-import androidx.lifecycle.MutableLiveData;
+import androidx.annotation.Nullable;
 
 import com.pingidentity.did.sdk.types.Claim;
 import com.pingidentity.did.sdk.types.ClaimReference;
+import com.pingidentity.sdk.pingonewallet.sample.models.CredentialCardModel;
+import com.pingidentity.sdk.pingonewallet.sample.models.CredentialSortOrder;
+import com.pingidentity.sdk.pingonewallet.sample.models.CredentialSummary;
 import com.pingidentity.sdk.pingonewallet.sample.models.Profile;
+import com.pingidentity.sdk.pingonewallet.sample.models.ThumbnailSize;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.reactivex.rxjava3.core.Observable;
 
 public interface DataRepository {
 
@@ -15,14 +26,24 @@ public interface DataRepository {
 
     Profile getProfile();
 
-    MutableLiveData<List<Claim>> subscribeClaimsChange();
+    Observable<Set<String>> observeClaimChanges();
 
-    void saveSelfClaim(Claim claim);
+    @NonNull
+    String getProfileRevision();
 
+    boolean saveSelfClaim(@NonNull Claim claim, @NonNull String profileRevision);
+
+    @Nullable
     Claim getSelfClaim();
 
     void saveClaim(Claim claim);
 
+    void saveClaims(@NonNull final Collection<Claim> claims);
+
+    void storeClaims(@NonNull final Collection<Claim> claims);
+
+    void publishClaims(@NonNull final Collection<Claim> claims);
+
     Claim getClaim(String id);
 
     void saveRevokedClaimReference(@NonNull final ClaimReference claimReference);
@@ -33,6 +54,26 @@ public interface DataRepository {
 
     void deleteClaim(Claim claim);
 
+    void deleteClaims(@NonNull final Collection<Claim> claims);
+
+    @NonNull
+    CredentialCardModel getCardModel(@NonNull final Claim claim);
+
+    void saveThumbnails(@NonNull final String claimId, @NonNull final Map<ThumbnailSize, Bitmap> thumbnails);
+
+    void saveThumbnails(@NonNull final Map<String, Map<ThumbnailSize, Bitmap>> thumbnailsByClaimId);
+
+    boolean hasThumbnails(@NonNull final String claimId);
+
+    @Nullable
+    Bitmap getThumbnail(@NonNull final Claim claim, @NonNull final ThumbnailSize size);
+
     List<Claim> getAllClaims();
 
+    @NonNull
+    List<CredentialSummary> getClaimSummaries(@NonNull final CredentialSortOrder sortOrder);
+
+    @NonNull
+    Set<String> searchClaimIds(@NonNull final String query);
+
 }
@@ -2,25 +2,42 @@ package com.pingidentity.sdk.pingonewallet.sample.storage.data_repository;
 
 import static com.pingidentity.sdk.pingonewallet.sample.storage.storage_manager.StorageManagerImpl.CLAIM_TYPE_SELF;
 
+import android.graphics.Bitmap;
 import android.util.Log;
+import android.util.LruCache;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
-import androidx.lifecycle.MutableLiveData;
 
 import com.pingidentity.did.sdk.types.Claim;
 import com.pingidentity.did.sdk.types.ClaimReference;
+import com.pingidentity.sdk.pingonewallet.sample.models.CredentialCardModel;
+import com.pingidentity.sdk.pingonewallet.sample.models.CredentialSortOrder;
+import com.pingidentity.sdk.pingonewallet.sample.models.CredentialSummary;
 import com.pingidentity.sdk.pingonewallet.sample.models.Profile;
+import com.pingidentity.sdk.pingonewallet.sample.models.ThumbnailSize;
+import com.pingidentity.sdk.pingonewallet.sample.storage.search_index.CredentialSearchIndex;
+import com.pingidentity.sdk.pingonewallet.sample.storage.storage_manager.WalletStorageManager;
+import com.pingidentity.sdk.pingonewallet.sample.utils.BitmapUtil;
 import com.pingidentity.sdk.pingonewallet.sample.utils.JsonUtil;
-import com.pingidentity.sdk.pingonewallet.contracts.StorageManagerContract;
+import com.pingidentity.sdk.pingonewallet.sample.utils.ThumbnailCache;
 import com.squareup.moshi.Types;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.subjects.PublishSubject;
+import io.reactivex.rxjava3.subjects.Subject;
 
 import javax.inject.Singleton;
 
@@ -31,36 +48,75 @@ public class DataRepositoryImpl implements DataRepository {
 
     private static final String KEY_CARD_ID = "card_ids_preferences_key";
     private static final String KEY_REVOKED_CARD_ID = "revoked_card_ids_preferences_key";
+    private static final String KEY_CLAIM_SUMMARIES = "claim_summaries_preferences_key";
     private static final String KEY_PROFILE = "profile";
-    private static final String PROFILE_SELF_CLAIM_STORAGE_KEY = "profile_self_claim_storage_key";
+    private static final String KEY_PROFILE_REVISION = "profile_revision";
+    private static final String KEY_SELF_CLAIM_PROFILE_REVISION = "self_claim_profile_revision";
+    private static final String THUMBNAIL_PREFIX_KEY = "thumbnail_";
+    private static final int THUMBNAIL_QUALITY = 90;
+    private static final int CLAIM_CACHE_SIZE = 64;
 
-    private final StorageManagerContract mStorage;
+    private final WalletStorageManager mStorage;
     private final JsonUtil mJsonUtil;
 
+    // Guards the id set and the summaries together with their serialized copies, so batches are applied in the order they were built
     private final Set<String> mClaimIdList;
     private final Set<String> mRevokedClaimIds;
 
+    private final Map<String, CredentialCardModel> mCardModels = new ConcurrentHashMap<>();
+    private final Set<String> mThumbnailClaimIds = ConcurrentHashMap.newKeySet();
+
+    private final Map<String, CredentialSummary> mClaimSummaries;
+    private final LruCache<String, Claim> mClaimCache = new LruCache<>(CLAIM_CACHE_SIZE);
+    private final CredentialSearchIndex mSearchIndex;
+
+    // The signed self-claim and the profile revision it was created from
+    private Claim mSelfClaim;
+    private String mSelfClaimRevision;
+
     private final List<Claim> mClaimsList = new ArrayList<>();
-    private final MutableLiveData<List<Claim>> mClaimsLiveData = new MutableLiveData<>();
+    private boolean mClaimsLoaded = false;
+    // Ids of the claims added, removed or restyled by each change, so observers reload only those
+    private final Subject<Set<String>> mClaimChanges = PublishSubject.<Set<String>>create().toSerialized();
 
-    public DataRepositoryImpl(StorageManagerContract storageManager, JsonUtil jsonUtil){
+    public DataRepositoryImpl(WalletStorageManager storageManager, JsonUtil jsonUtil){
         this.mStorage = storageManager;
         this.mJsonUtil = jsonUtil;
         this.mClaimIdList = getClaimIdList();
         this.mRevokedClaimIds = getRevokedClaimIdList();
-        loadClaims();
+        this.mClaimSummaries = getClaimSummaryIndex();
+        this.mSearchIndex = new CredentialSearchIndex(storageManager, jsonUtil);
     }
 
     ///////////////////////////////////////
     ///////////// Profile work ////////////
     ///////////////////////////////////////
 
+    // Every save starts a new revision, which invalidates the self-claim signed for the previous one
     @Override
-    public void saveProfile(@NonNull final Profile profile) {
+    public synchronized void saveProfile(@NonNull final Profile profile) {
         final String profileString =
                 mJsonUtil.toJson(profile.toMap(), Types.newParameterizedType(Map.class, String.class, String.class));
-        mStorage.saveString(profileString, KEY_PROFILE);
-        mStorage.deleteClaim(CLAIM_TYPE_SELF);
+        mStorage.beginBatch()
+                .saveString(profileString, KEY_PROFILE)
+                .saveString(UUID.randomUUID().toString(), KEY_PROFILE_REVISION)
+                .deleteClaim(CLAIM_TYPE_SELF)
+                .removeString(KEY_SELF_CLAIM_PROFILE_REVISION)
+                .apply();
+        mSelfClaim = null;
+        mSelfClaimRevision = null;
+    }
+
+    @NonNull
+    @Override
+    public synchronized String getProfileRevision() {
+        String revision = mStorage.getString(KEY_PROFILE_REVISION);
+        if (revision == null) {
+            // Profiles saved before revisions existed get one on first use
+            revision = UUID.randomUUID().toString();
+            mStorage.saveString(revision, KEY_PROFILE_REVISION);
+        }
+        return revision;
     }
 
     @Override
@@ -82,19 +138,44 @@ public class DataRepositoryImpl implements DataRepository {
     ///////////////////////////////////////
 
     @Override
-    public List<Claim> getAllClaims() {
+    public synchronized List<Claim> getAllClaims() {
+        if (!mClaimsLoaded) {
+            mClaimsList.addAll(mStorage.getClaims());
+            mClaimsLoaded = true;
+        }
         return mClaimsList;
     }
 
+    @NonNull
+    @Override
+    public List<CredentialSummary> getClaimSummaries(@NonNull final CredentialSortOrder sortOrder) {
+        final List<CredentialSummary> summaries;
+        synchronized (mClaimSummaries) {
+            summaries = new ArrayList<>(mClaimSummaries.values());
+        }
+        summaries.sort(CredentialSummary.comparator(sortOrder));
+        return summaries;
+    }
+
+    @NonNull
+    @Override
+    public Set<String> searchClaimIds(@NonNull final String query) {
+        if (!mSearchIndex.load()) {
+            // Wallets created before the search index existed are indexed once from the full claims
+            mSearchIndex.rebuild(getAllClaims());
+        }
+        return mSearchIndex.query(query);
+    }
+
     @Override
-    public MutableLiveData<List<Claim>> subscribeClaimsChange() {
-        return mClaimsLiveData;
+    public Observable<Set<String>> observeClaimChanges() {
+        return mClaimChanges;
     }
 
     public void saveRevokedClaimReference(@NonNull final ClaimReference claimReference) {
         mStorage.saveString(claimReference.toJson(), "REVOKED_" + claimReference.getId().toString());
         saveRevokedClaimId(claimReference.getId().toString());
-        mClaimsLiveData.postValue(mClaimsList);
+        notifyClaimsChanged(Collections.singleton(claimReference.getId().toString()));
     }
 
     @Nullable
@@ -114,29 +195,102 @@ public class DataRepositoryImpl implements DataRepository {
 
     @Override
     public void saveClaim(Claim claim) {
-        mStorage.saveClaim(claim);
-        mClaimsList.add(claim);
-        updateCredentialViewModel();
-        saveClaimId(claim.getId().toString());
+        saveClaims(Collections.singletonList(claim));
     }
 
-    public void saveSelfClaim(Claim claim) {
+    @Override
+    public void saveClaims(@NonNull final Collection<Claim> claims) {
+        storeClaims(claims);
+        publishClaims(claims);
+    }
+
+    // One storage write, however many claims are added; they are not searchable or listed until published
+    @Override
+    public void storeClaims(@NonNull final Collection<Claim> claims) {
+        if (claims.isEmpty()) {
+            return;
+        }
+        final WalletStorageManager.Batch batch = mStorage.beginBatch();
+        for (Claim claim : claims) {
+            batch.saveClaim(claim);
+            mClaimCache.put(claim.getId().toString(), claim);
+        }
+        synchronized (this) {
+            if (mClaimsLoaded) {
+                mClaimsList.addAll(claims);
+            }
+        }
+        synchronized (mClaimIdList) {
+            synchronized (mClaimSummaries) {
+                for (Claim claim : claims) {
+                    final CredentialSummary summary = CredentialSummary.fromClaim(claim);
+                    mClaimSummaries.put(summary.getClaimId(), summary);
+                }
+                batch.saveString(mJsonUtil.toJson(new ArrayList<>(mClaimSummaries.values()),
+                        Types.newParameterizedType(List.class, CredentialSummary.class)), KEY_CLAIM_SUMMARIES);
+            }
+            for (Claim claim : claims) {
+                mClaimIdList.add(claim.getId().toString());
+            }
+            batch.saveString(mJsonUtil.toJson(mClaimIdList, Types.newParameterizedType(Set.class, String.class)), KEY_CARD_ID);
+            batch.apply();
+        }
+    }
+
+    // One search index write and one change event for claims already stored
+    @Override
+    public void publishClaims(@NonNull final Collection<Claim> claims) {
+        if (claims.isEmpty()) {
+            return;
+        }
+        mSearchIndex.addClaims(claims);
+        final Set<String> claimIds = new HashSet<>();
+        for (Claim claim : claims) {
+            claimIds.add(claim.getId().toString());
+        }
+        notifyClaimsChanged(claimIds);
+    }
+
+    // A claim signed for a profile that has since been edited is rejected rather than replacing a newer one
+    @Override
+    public synchronized boolean saveSelfClaim(@NonNull final Claim claim, @NonNull final String profileRevision) {
+        if (!profileRevision.equals(getProfileRevision())) {
+            return false;
+        }
         mStorage.saveClaim(claim);
-        mStorage.saveString(claim.getId().toString(), PROFILE_SELF_CLAIM_STORAGE_KEY);
+        mStorage.saveString(profileRevision, KEY_SELF_CLAIM_PROFILE_REVISION);
+        mSelfClaim = claim;
+        mSelfClaimRevision = profileRevision;
+        return true;
     }
 
+    // Claims without CardType are stored under CLAIM_TYPE_SELF, not their id
     @Nullable
-    public Claim getSelfClaim() {
-        final String selfClaimId = mStorage.getString(PROFILE_SELF_CLAIM_STORAGE_KEY);
-        if(selfClaimId == null) {
+    @Override
+    public synchronized Claim getSelfClaim() {
+        final String profileRevision = getProfileRevision();
+        if (mSelfClaim != null && profileRevision.equals(mSelfClaimRevision)) {
+            return mSelfClaim;
+        }
+        if (!profileRevision.equals(mStorage.getString(KEY_SELF_CLAIM_PROFILE_REVISION))) {
             return null;
         }
-        return mStorage.getClaim(selfClaimId);
+        mSelfClaim = mStorage.getClaim(CLAIM_TYPE_SELF);
+        mSelfClaimRevision = mSelfClaim == null ? null : profileRevision;
+        return mSelfClaim;
     }
 
     @Override
     public Claim getClaim(String id) {
-        return mStorage.getClaim(id);
+        final Claim cached = mClaimCache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        final Claim claim = mStorage.getClaim(id);
+        if (claim != null) {
+            mClaimCache.put(id, claim);
+        }
+        return claim;
     }
 
     @Override
@@ -146,23 +300,153 @@ public class DataRepositoryImpl implements DataRepository {
 
     @Override
     public void deleteClaim(Claim claim) {
-        mStorage.deleteClaim(claim.getId().toString());
-        mClaimsList.remove(claim);
-        updateCredentialViewModel();
-        removeClaimId(claim.getId().toString());
+        deleteClaims(Collections.singletonList(claim));
+    }
+
+    // One storage write and one change event, however many claims are removed
+    @Override
+    public void deleteClaims(@NonNull final Collection<Claim> claims) {
+        if (claims.isEmpty()) {
+            return;
+        }
+        final Set<String> claimIds = new HashSet<>();
+        for (Claim claim : claims) {
+            claimIds.add(claim.getId().toString());
+        }
+
+        final WalletStorageManager.Batch batch = mStorage.beginBatch();
+        synchronized (this) {
+            mClaimsList.removeIf(claim -> claimIds.contains(claim.getId().toString()));
+        }
+        for (String claimId : claimIds) {
+            batch.deleteClaim(claimId);
+            for (ThumbnailSize size : ThumbnailSize.values()) {
+                batch.removeString(getThumbnailKey(claimId, size));
+            }
+            mClaimCache.remove(claimId);
+            mCardModels.remove(claimId);
+            mThumbnailClaimIds.remove(claimId);
+            ThumbnailCache.getInstance().remove(claimId);
+        }
+        synchronized (mClaimIdList) {
+            synchronized (mClaimSummaries) {
+                mClaimSummaries.keySet().removeAll(claimIds);
+                batch.saveString(mJsonUtil.toJson(new ArrayList<>(mClaimSummaries.values()),
+                        Types.newParameterizedType(List.class, CredentialSummary.class)), KEY_CLAIM_SUMMARIES);
+            }
+            mClaimIdList.removeAll(claimIds);
+            batch.saveString(mJsonUtil.toJson(mClaimIdList, Types.newParameterizedType(Set.class, String.class)), KEY_CARD_ID);
+            batch.apply();
+        }
+
+        mSearchIndex.removeClaims(claimIds);
+        notifyClaimsChanged(claimIds);
+    }
+
+    @NonNull
+    @Override
+    public CredentialCardModel getCardModel(@NonNull final Claim claim) {
+        final String claimId = claim.getId().toString();
+        final boolean revoked = isClaimRevoked(claimId);
+        final boolean thumbnailReady = hasThumbnails(claimId);
+        final CredentialCardModel cached = mCardModels.get(claimId);
+        if (cached != null && cached.getVersion() == claim.getVersion()
+                && cached.isRevoked() == revoked && cached.isThumbnailReady() == thumbnailReady) {
+            return cached;
+        }
+        final CredentialCardModel cardModel = CredentialCardModel.fromClaim(claim, revoked, thumbnailReady);
+        mCardModels.put(claimId, cardModel);
+        return cardModel;
+    }
+
+    ///////////////////////////////////////
+    ///////////// Thumbnails work /////////
+    ///////////////////////////////////////
+
+    @Override
+    public void saveThumbnails(@NonNull final String claimId, @NonNull final Map<ThumbnailSize, Bitmap> thumbnails) {
+        saveThumbnails(Collections.singletonMap(claimId, thumbnails));
+    }
+
+    @Override
+    public void saveThumbnails(@NonNull final Map<String, Map<ThumbnailSize, Bitmap>> thumbnailsByClaimId) {
+        if (thumbnailsByClaimId.isEmpty()) {
+            return;
+        }
+        final WalletStorageManager.Batch batch = mStorage.beginBatch();
+        for (Map.Entry<String, Map<ThumbnailSize, Bitmap>> entry : thumbnailsByClaimId.entrySet()) {
+            for (ThumbnailSize size : ThumbnailSize.values()) {
+                final Bitmap thumbnail = entry.getValue().get(size);
+                final String encodedThumbnail = thumbnail == null ? "" : BitmapUtil.bitmapToBase64(thumbnail, THUMBNAIL_QUALITY);
+                batch.saveString(encodedThumbnail, getThumbnailKey(entry.getKey(), size));
+            }
+        }
+        batch.apply();
+        for (String claimId : thumbnailsByClaimId.keySet()) {
+            ThumbnailCache.getInstance().remove(claimId);
+        }
+        mThumbnailClaimIds.addAll(thumbnailsByClaimId.keySet());
+        notifyClaimsChanged(new HashSet<>(thumbnailsByClaimId.keySet()));
+    }
+
+    @Override
+    public boolean hasThumbnails(@NonNull final String claimId) {
+        if (mThumbnailClaimIds.contains(claimId)) {
+            return true;
+        }
+        if (mStorage.getString(getThumbnailKey(claimId, ThumbnailSize.SMALL)) != null) {
+            mThumbnailClaimIds.add(claimId);
+            return true;
+        }
+        return false;
+    }
+
+    @Nullable
+    @Override
+    public Bitmap getThumbnail(@NonNull final Claim claim, @NonNull final ThumbnailSize size) {
+        final String claimId = claim.getId().toString();
+        final Bitmap cached = ThumbnailCache.getInstance().get(claimId, size);
+        if (cached != null) {
+            return cached;
+        }
+        final Bitmap thumbnail = BitmapUtil.base64ToBitmap(mStorage.getString(getThumbnailKey(claimId, size)));
+        if (thumbnail != null) {
+            ThumbnailCache.getInstance().put(claimId, size, thumbnail);
+        }
+        return thumbnail;
+    }
+
+    private static String getThumbnailKey(@NonNull final String claimId, @NonNull final ThumbnailSize size) {
+        return THUMBNAIL_PREFIX_KEY + size.getKey() + "_" + claimId;
     }
 
     ///////////////////////////////////////
     ///////////// Card ID's work //////////
     ///////////////////////////////////////
 
-    private void updateCredentialViewModel() {
-        mClaimsLiveData.postValue(mClaimsList);
+    private void notifyClaimsChanged(@NonNull final Set<String> claimIds) {
+        mClaimChanges.onNext(Collections.unmodifiableSet(claimIds));
     }
 
-    private void loadClaims() {
-        mClaimsList.addAll(mStorage.getClaims());
-        updateCredentialViewModel();
+    private Map<String, CredentialSummary> getClaimSummaryIndex() {
+        final Map<String, CredentialSummary> summaries = new LinkedHashMap<>();
+        final String rawValue = mStorage.getString(KEY_CLAIM_SUMMARIES);
+        if (rawValue != null) {
+            List<CredentialSummary> storedSummaries = mJsonUtil.fromJson(rawValue, Types.newParameterizedType(List.class, CredentialSummary.class));
+            if (storedSummaries != null) {
+                for (CredentialSummary summary : storedSummaries) {
+                    summaries.put(summary.getClaimId(), summary);
+                }
+                return summaries;
+            }
+        }
+        // Wallets created before the summary index existed are indexed once from the full claims
+        for (Claim claim : getAllClaims()) {
+            summaries.put(claim.getId().toString(), CredentialSummary.fromClaim(claim));
+        }
+        mStorage.saveString(mJsonUtil.toJson(new ArrayList<>(summaries.values()),
+                Types.newParameterizedType(List.class, CredentialSummary.class)), KEY_CLAIM_SUMMARIES);
+        return summaries;
     }
 
     private Set<String> getClaimIdList() {
@@ -192,14 +476,4 @@ public class DataRepositoryImpl implements DataRepository {
         mStorage.saveString(mJsonUtil.toJson(mRevokedClaimIds, Types.newParameterizedType(Set.class, String.class)), KEY_REVOKED_CARD_ID);
     }
 
-    private void saveClaimId(String id) {
-        mClaimIdList.add(id);
-        mStorage.saveString(mJsonUtil.toJson(mClaimIdList, Types.newParameterizedType(Set.class, String.class)), KEY_CARD_ID);
-    }
-
-    private void removeClaimId(@NonNull final String cardId) {
-        mClaimIdList.remove(cardId);
-        mStorage.saveString(mJsonUtil.toJson(mClaimIdList, Types.newParameterizedType(Set.class, String.class)), KEY_CARD_ID);
-    }
-
 }
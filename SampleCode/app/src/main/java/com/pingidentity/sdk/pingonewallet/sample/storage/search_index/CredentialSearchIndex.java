@@ -0,0 +1,206 @@
+package com.pingidentity.sdk.pingonewallet.sample.storage.search_index;
+
+import androidx.annotation.NonNull;
+
+import com.pingidentity.did.sdk.types.Claim;
+import com.pingidentity.sdk.pingonewallet.sample.storage.storage_manager.WalletStorageManager;
+import com.pingidentity.sdk.pingonewallet.sample.utils.BitmapUtil;
+import com.pingidentity.sdk.pingonewallet.sample.utils.JsonUtil;
+import com.squareup.moshi.Types;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+public class CredentialSearchIndex {
+
+    public static final String TAG = CredentialSearchIndex.class.getCanonicalName();
+
+    private static final String KEY_SEARCH_INDEX = "credential_search_index_preferences_key";
+    private static final int MAX_INDEXED_VALUE_LENGTH = 256;
+    private static final int MAX_TOKEN_LENGTH = 64;
+
+    private final WalletStorageManager mStorage;
+    private final JsonUtil mJsonUtil;
+
+    // token -> claim ids, sorted so that a prefix query is a single range scan
+    private final TreeMap<String, Set<String>> mPostings = new TreeMap<>();
+    // claim id -> tokens, persisted and used to remove a claim without re-reading it
+    private final Map<String, List<String>> mClaimTokens = new HashMap<>();
+    private boolean mLoaded = false;
+
+    public CredentialSearchIndex(WalletStorageManager storageManager, JsonUtil jsonUtil) {
+        this.mStorage = storageManager;
+        this.mJsonUtil = jsonUtil;
+    }
+
+    public synchronized boolean load() {
+        if (mLoaded) {
+            return true;
+        }
+        final String rawValue = mStorage.getString(KEY_SEARCH_INDEX);
+        if (rawValue == null) {
+            return false;
+        }
+        final Map<String, List<String>> claimTokens = mJsonUtil.fromJson(rawValue,
+                Types.newParameterizedType(Map.class, String.class, Types.newParameterizedType(List.class, String.class)));
+        if (claimTokens == null) {
+            return false;
+        }
+        for (Map.Entry<String, List<String>> entry : claimTokens.entrySet()) {
+            addPostings(entry.getKey(), entry.getValue());
+        }
+        mLoaded = true;
+        return true;
+    }
+
+    public synchronized void rebuild(@NonNull final Collection<Claim> claims) {
+        mPostings.clear();
+        mClaimTokens.clear();
+        for (Claim claim : claims) {
+            addPostings(claim.getId().toString(), tokenize(claim));
+        }
+        mLoaded = true;
+        persist();
+    }
+
+    // Without a persisted index there is nothing to keep current; the first search builds it from every claim
+    public synchronized void addClaims(@NonNull final Collection<Claim> claims) {
+        if (claims.isEmpty() || !load()) {
+            return;
+        }
+        for (Claim claim : claims) {
+            final String claimId = claim.getId().toString();
+            removePostings(claimId);
+            addPostings(claimId, tokenize(claim));
+        }
+        persist();
+    }
+
+    public synchronized void removeClaims(@NonNull final Collection<String> claimIds) {
+        if (claimIds.isEmpty() || !load()) {
+            return;
+        }
+        boolean removed = false;
+        for (String claimId : claimIds) {
+            removed |= removePostings(claimId);
+        }
+        if (removed) {
+            persist();
+        }
+    }
+
+    // Every query token must match; the last one is treated as a prefix while the user is still typing
+    @NonNull
+    public synchronized Set<String> query(@NonNull final String query) {
+        final List<String> queryTokens = tokenize(query);
+        if (queryTokens.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<String> result = null;
+        for (int i = 0; i < queryTokens.size(); i++) {
+            final String token = queryTokens.get(i);
+            final Set<String> matches = i == queryTokens.size() - 1 ? prefixMatches(token) : tokenMatches(token);
+            if (result == null) {
+                result = new HashSet<>(matches);
+            } else {
+                result.retainAll(matches);
+            }
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    @NonNull
+    private Set<String> tokenMatches(@NonNull final String token) {
+        final Set<String> claimIds = mPostings.get(token);
+        return claimIds == null ? Collections.emptySet() : claimIds;
+    }
+
+    @NonNull
+    private Set<String> prefixMatches(@NonNull final String prefix) {
+        final Set<String> claimIds = new HashSet<>();
+        for (Set<String> postings : mPostings.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+            claimIds.addAll(postings);
+        }
+        return claimIds;
+    }
+
+    private void addPostings(@NonNull final String claimId, @NonNull final List<String> tokens) {
+        mClaimTokens.put(claimId, tokens);
+        for (String token : tokens) {
+            Set<String> claimIds = mPostings.get(token);
+            if (claimIds == null) {
+                claimIds = new HashSet<>();
+                mPostings.put(token, claimIds);
+            }
+            claimIds.add(claimId);
+        }
+    }
+
+    private boolean removePostings(@NonNull final String claimId) {
+        final List<String> tokens = mClaimTokens.remove(claimId);
+        if (tokens == null) {
+            return false;
+        }
+        for (String token : tokens) {
+            final Set<String> claimIds = mPostings.get(token);
+            if (claimIds != null) {
+                claimIds.remove(claimId);
+                if (claimIds.isEmpty()) {
+                    mPostings.remove(token);
+                }
+            }
+        }
+        return true;
+    }
+
+    private void persist() {
+        mStorage.saveString(mJsonUtil.toJson(mClaimTokens,
+                Types.newParameterizedType(Map.class, String.class, Types.newParameterizedType(List.class, String.class))),
+                KEY_SEARCH_INDEX);
+    }
+
+    @NonNull
+    private static List<String> tokenize(@NonNull final Claim claim) {
+        final Set<String> tokens = new HashSet<>();
+        for (Map.Entry<String, String> entry : claim.getData().entrySet()) {
+            if (entry.getKey() == null || BitmapUtil.getImageKeys().contains(entry.getKey().toLowerCase())) {
+                continue;
+            }
+            tokens.addAll(tokenize(entry.getKey()));
+            final String value = entry.getValue();
+            if (value != null && value.length() <= MAX_INDEXED_VALUE_LENGTH) {
+                tokens.addAll(tokenize(value));
+            }
+        }
+        return new ArrayList<>(tokens);
+    }
+
+    @NonNull
+    private static List<String> tokenize(@NonNull final String text) {
+        final List<String> tokens = new ArrayList<>();
+        final String normalized = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            final boolean tokenChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (tokenChar && start < 0) {
+                start = i;
+            } else if (!tokenChar && start >= 0) {
+                tokens.add(normalized.substring(start, Math.min(i, start + MAX_TOKEN_LENGTH)));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+}
@@ -14,7 +14,6 @@ import com.pingidentity.did.sdk.json.JsonUtil;
 import com.pingidentity.did.sdk.types.Claim;
 import com.pingidentity.sdk.pingonewallet.encrypted_storage.EncryptedStorageProvider;
 import com.pingidentity.sdk.pingonewallet.encrypted_storage.EncryptedStorageProviderImpl;
-import com.pingidentity.sdk.pingonewallet.contracts.StorageManagerContract;
 import com.squareup.moshi.Types;
 
 import java.io.IOException;
@@ -30,7 +29,7 @@ import java.util.stream.Collectors;
 import javax.inject.Singleton;
 
 @Singleton
-public class StorageManagerImpl implements StorageManagerContract {
+public class StorageManagerImpl implements WalletStorageManager {
 
     public static final String TAG = StorageManagerImpl.class.getCanonicalName();
 
@@ -41,7 +40,7 @@ public class StorageManagerImpl implements StorageManagerContract {
 
     public static final String CLAIM_TYPE_SELF = "self-claim";
 
-    private static StorageManagerContract sharedInstance;
+    private static WalletStorageManager sharedInstance;
 
     private final SharedPreferences encryptedPreferences;
 
@@ -50,7 +49,7 @@ public class StorageManagerImpl implements StorageManagerContract {
         this.encryptedPreferences = encryptedPreferences;
     }
 
-    public static StorageManagerContract getInstance() {
+    public static WalletStorageManager getInstance() {
         return sharedInstance;
     }
 
@@ -69,8 +68,12 @@ public class StorageManagerImpl implements StorageManagerContract {
 
     @Override
     public void saveClaim(@NonNull Claim claim) {
+        encryptedPreferences.edit().putString(getClaimKey(claim), claim.toJson()).apply();
+    }
+
+    private static String getClaimKey(@NonNull Claim claim) {
         String key = claim.getData().get("CardType") != null ? claim.getId().toString() : CLAIM_TYPE_SELF;
-        encryptedPreferences.edit().putString(CLAIM_PREFIX_KEY + key, claim.toJson()).apply();
+        return CLAIM_PREFIX_KEY + key;
     }
 
     @Override
@@ -151,8 +154,49 @@ public class StorageManagerImpl implements StorageManagerContract {
         return encryptedPreferences.getString(key, null);
     }
 
+    @Override
     public void removeString(@NonNull String key) {
         encryptedPreferences.edit().remove(key).apply();
     }
 
+    @NonNull
+    @Override
+    public Batch beginBatch() {
+        final SharedPreferences.Editor editor = encryptedPreferences.edit();
+        return new Batch() {
+            @NonNull
+            @Override
+            public Batch saveString(@NonNull String str, @NonNull String key) {
+                editor.putString(key, str);
+                return this;
+            }
+
+            @NonNull
+            @Override
+            public Batch removeString(@NonNull String key) {
+                editor.remove(key);
+                return this;
+            }
+
+            @NonNull
+            @Override
+            public Batch saveClaim(@NonNull Claim claim) {
+                editor.putString(getClaimKey(claim), claim.toJson());
+                return this;
+            }
+
+            @NonNull
+            @Override
+            public Batch deleteClaim(@NonNull String id) {
+                editor.remove(CLAIM_PREFIX_KEY + id);
+                return this;
+            }
+
+            @Override
+            public void apply() {
+                editor.apply();
+            }
+        };
+    }
+
 }
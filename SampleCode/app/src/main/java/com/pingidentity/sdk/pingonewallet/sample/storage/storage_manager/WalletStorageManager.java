@@ -0,0 +1,34 @@
+package com.pingidentity.sdk.pingonewallet.sample.storage.storage_manager;
+
+import androidx.annotation.NonNull;
+
+import com.pingidentity.did.sdk.types.Claim;
+import com.pingidentity.sdk.pingonewallet.contracts.StorageManagerContract;
+
+public interface WalletStorageManager extends StorageManagerContract {
+
+    void removeString(@NonNull String key);
+
+    // Changes made through a batch are written together when apply() is called
+    @NonNull
+    Batch beginBatch();
+
+    interface Batch {
+
+        @NonNull
+        Batch saveString(@NonNull String str, @NonNull String key);
+
+        @NonNull
+        Batch removeString(@NonNull String key);
+
+        @NonNull
+        Batch saveClaim(@NonNull Claim claim);
+
+        @NonNull
+        Batch deleteClaim(@NonNull String id);
+
+        void apply();
+
+    }
+
+}
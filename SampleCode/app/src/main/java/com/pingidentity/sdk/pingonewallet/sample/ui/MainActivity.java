@@ -13,7 +13,9 @@ import android.widget.Toast;
 
 import com.pingidentity.sdk.pingonewallet.sample.MainApplication;
 import com.pingidentity.sdk.pingonewallet.sample.R;
+import com.pingidentity.sdk.pingonewallet.sample.network.PingOneWalletHelper;
 import com.pingidentity.sdk.pingonewallet.sample.storage.storage_manager.StorageManagerImpl;
+import com.pingidentity.sdk.pingonewallet.sample.ui.qr_scanner.ScannerSessionManager;
 import com.pingidentity.sdk.pingonewallet.sample.ui.splash.SplashFragment;
 
 import java.lang.ref.WeakReference;
@@ -22,13 +24,32 @@ public class MainActivity extends AppCompatActivity {
 
     public static final String TAG = MainActivity.class.getCanonicalName();
 
+    private ScannerSessionManager mScannerSessionManager;
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_main);
+        mScannerSessionManager = new ScannerSessionManager(this);
         initializeStorage();
     }
 
+    @Override
+    protected void onDestroy() {
+        mScannerSessionManager.release();
+        super.onDestroy();
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        mScannerSessionManager.onTrimMemory(level);
+    }
+
+    public ScannerSessionManager getScannerSessionManager() {
+        return mScannerSessionManager;
+    }
+
     private void initializeStorage() {
         StorageManagerImpl.initialize(new WeakReference<>(MainActivity.this), () -> {
                     ((MainApplication) getApplication()).initDagger();
@@ -84,6 +105,9 @@ public class MainActivity extends AppCompatActivity {
         final MainApplication application = (MainApplication) getApplication();
         if (intent.getData() != null) {
             Log.i(TAG, String.format("Intent intercepted: %s", intent.getData().toString()));
+            if (PingOneWalletHelper.getInstance() != null) {
+                PingOneWalletHelper.getInstance().prewarmHosts(intent.getData().toString());
+            }
             application.setUrl(intent.getData().toString());
         }
     }
@@ -1,9 +1,6 @@
 package com.pingidentity.sdk.pingonewallet.sample.ui.base;
 
-import android.content.Context;
-import android.net.ConnectivityManager;
 import android.os.Bundle;
-import android.util.Log;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -19,6 +16,7 @@ import com.pingidentity.sdk.pingonewallet.sample.di.Injector;
 import com.pingidentity.sdk.pingonewallet.sample.di.component.DaggerFragmentComponent;
 import com.pingidentity.sdk.pingonewallet.sample.di.component.FragmentComponent;
 import com.pingidentity.sdk.pingonewallet.sample.di.module.FragmentModule;
+import com.pingidentity.sdk.pingonewallet.sample.network.ConnectivityMonitor;
 import com.pingidentity.sdk.pingonewallet.sample.utils.NotificationUtil;
 
 import javax.inject.Inject;
@@ -77,17 +75,7 @@ public abstract class BaseFragment<T extends ViewBinding, V extends BaseViewMode
     }
 
     public boolean isNetworkConnected() {
-        ConnectivityManager cm = (ConnectivityManager) getContext().getSystemService(Context.CONNECTIVITY_SERVICE);
-        if (cm.getActiveNetworkInfo() != null && cm.getActiveNetworkInfo().isConnected()) {
-            try {
-                Process p1 = java.lang.Runtime.getRuntime().exec("ping -c 1 www.google.com");
-                int returnVal = p1.waitFor();
-                return (returnVal == 0);
-            } catch (Exception e) {
-                Log.e(TAG, "Unable to connect to Internet", e);
-            }
-        }
-        return false;
+        return ConnectivityMonitor.getInstance().isOnline();
     }
 
 }
\ No newline at end of file
@@ -5,6 +5,7 @@ import android.graphics.Bitmap;
 import androidx.lifecycle.MutableLiveData;
 
 import com.pingidentity.sdk.pingonewallet.sample.models.Profile;
+import com.pingidentity.sdk.pingonewallet.sample.network.PingOneWalletHelper;
 import com.pingidentity.sdk.pingonewallet.sample.storage.data_repository.DataRepository;
 import com.pingidentity.sdk.pingonewallet.sample.ui.base.BaseViewModel;
 
@@ -41,6 +42,9 @@ public class CreateProfileViewModel extends BaseViewModel {
         }
 
         getDataManager().saveProfile(new Profile(firstName, lastName, email, selfie));
+        if (PingOneWalletHelper.getInstance() != null) {
+            PingOneWalletHelper.getInstance().prepareSelfClaim();
+        }
         mCompletionLiveData.postValue(true);
     }
 
@@ -16,11 +16,18 @@ import com.pingidentity.sdk.pingonewallet.sample.callbacks.CredentialDetailsList
 import com.pingidentity.sdk.pingonewallet.sample.databinding.FragmentCredentialDetailsBinding;
 import com.pingidentity.sdk.pingonewallet.sample.di.component.FragmentComponent;
 import com.pingidentity.sdk.pingonewallet.sample.models.Credential;
+import com.pingidentity.sdk.pingonewallet.sample.models.CredentialCardModel;
 import com.pingidentity.sdk.pingonewallet.sample.rv_adapters.CredentialDetailsAdapter;
 import com.pingidentity.sdk.pingonewallet.sample.ui.base.BaseFragment;
 import com.pingidentity.sdk.pingonewallet.sample.utils.BitmapUtil;
+import com.pingidentity.sdk.pingonewallet.sample.utils.CardImageCache;
 
-import java.util.Map;
+import java.util.List;
+
+import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
+import io.reactivex.rxjava3.core.Maybe;
+import io.reactivex.rxjava3.disposables.CompositeDisposable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
 
 public class CredentialDetailsFragment extends BaseFragment<FragmentCredentialDetailsBinding, CredentialDetailsViewModel> {
 
@@ -29,6 +36,7 @@ public class CredentialDetailsFragment extends BaseFragment<FragmentCredentialDe
     private Credential mCredential;
     private String mActionLabel;
     private CredentialDetailsListener mAction;
+    private final CompositeDisposable mDisposables = new CompositeDisposable();
 
     public static CredentialDetailsFragment newInstance(Credential credential, String actionLabel, CredentialDetailsListener action) {
         CredentialDetailsFragment credentialDetailsFragment = new CredentialDetailsFragment();
@@ -52,6 +60,12 @@ public class CredentialDetailsFragment extends BaseFragment<FragmentCredentialDe
         });
     }
 
+    @Override
+    public void onDestroyView() {
+        mDisposables.clear();
+        super.onDestroyView();
+    }
+
     @Override
     public FragmentCredentialDetailsBinding performBinding(@NonNull LayoutInflater inflater, ViewGroup container) {
         return FragmentCredentialDetailsBinding.inflate(inflater, container, false);
@@ -63,21 +77,41 @@ public class CredentialDetailsFragment extends BaseFragment<FragmentCredentialDe
     }
 
     private void setClaimData(Credential credential) {
+        final CredentialCardModel cardModel = credential.getCardModel();
         getViewBinding().btnAction.setText(mActionLabel);
-        Bitmap image = BitmapUtil.getBitmapFromClaim(credential.getClaim());
-        if (image != null) {
-            getViewBinding().credentialImage.setImageBitmap(image);
-        }
-        getViewBinding().viewExpired.setVisibility(credential.isRevoked() ? View.VISIBLE : View.GONE);
+        setCardImage(cardModel);
+        getViewBinding().viewExpired.setVisibility(cardModel.isRevoked() ? View.VISIBLE : View.GONE);
         getViewBinding().btnAction.setOnClickListener(v -> {
             requireActivity().getSupportFragmentManager().popBackStack();
             mAction.onActionClick(mCredential.getClaim());
         });
-        setRecyclerView(credential.getClaim().getData());
+        setRecyclerView(cardModel.getDetailRows());
+    }
+
+    private void setCardImage(CredentialCardModel cardModel) {
+        if (cardModel.getImage() == null) {
+            return;
+        }
+        final Bitmap cachedImage = CardImageCache.getInstance().get(cardModel);
+        if (cachedImage != null) {
+            getViewBinding().credentialImage.setImageBitmap(cachedImage);
+            return;
+        }
+        mDisposables.add(Maybe.fromCallable(() -> {
+                    final Bitmap image = BitmapUtil.getCardBitmap(cardModel.getImage());
+                    if (image != null) {
+                        CardImageCache.getInstance().put(cardModel, image);
+                    }
+                    return image;
+                })
+                .subscribeOn(Schedulers.computation())
+                .observeOn(AndroidSchedulers.mainThread())
+                .subscribe(image -> getViewBinding().credentialImage.setImageBitmap(image),
+                        throwable -> Log.e(TAG, "Failed to decode credential image", throwable)));
     }
 
-    private void setRecyclerView(Map<String, String> data) {
-        CredentialDetailsAdapter adapter = new CredentialDetailsAdapter(data);
+    private void setRecyclerView(List<CredentialCardModel.DetailRow> detailRows) {
+        CredentialDetailsAdapter adapter = new CredentialDetailsAdapter(detailRows);
         getViewBinding().claimsList.setLayoutManager(new LinearLayoutManager(requireContext()));
         getViewBinding().claimsList.setAdapter(adapter);
     }
@@ -0,0 +1,126 @@
+package com.pingidentity.sdk.pingonewallet.sample.ui.credentials_list;
+
+import android.graphics.Bitmap;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.pingidentity.sdk.pingonewallet.sample.models.Credential;
+import com.pingidentity.sdk.pingonewallet.sample.models.CredentialCardModel;
+import com.pingidentity.sdk.pingonewallet.sample.rv_adapters.CardsListAdapter;
+import com.pingidentity.sdk.pingonewallet.sample.utils.BitmapUtil;
+import com.pingidentity.sdk.pingonewallet.sample.utils.CardImageCache;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.reactivex.rxjava3.core.Completable;
+import io.reactivex.rxjava3.disposables.Disposable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+
+public class CredentialDetailsPrefetcher extends RecyclerView.OnScrollListener {
+
+    public static final String TAG = CredentialDetailsPrefetcher.class.getCanonicalName();
+
+    private static final int LOOKAHEAD_ITEMS = 2;
+
+    private final LinearLayoutManager mLayoutManager;
+    private final CardsListAdapter mAdapter;
+    private final CardImageCache mImageCache;
+    private final Map<String, Disposable> mPendingPrefetches = new HashMap<>();
+
+    public CredentialDetailsPrefetcher(@NonNull final LinearLayoutManager layoutManager, @NonNull final CardsListAdapter adapter) {
+        this.mLayoutManager = layoutManager;
+        this.mAdapter = adapter;
+        this.mImageCache = CardImageCache.getInstance();
+    }
+
+    @Override
+    public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+        onVisibleRangeChanged();
+    }
+
+    public void onVisibleRangeChanged() {
+        final int firstVisible = mLayoutManager.findFirstVisibleItemPosition();
+        final int lastVisible = mLayoutManager.findLastVisibleItemPosition();
+        final List<Credential> credentials = mAdapter.getCurrentList();
+        if (firstVisible == RecyclerView.NO_POSITION || credentials.isEmpty()) {
+            return;
+        }
+        final int start = Math.max(0, firstVisible - LOOKAHEAD_ITEMS);
+        final int end = Math.min(credentials.size() - 1, lastVisible + LOOKAHEAD_ITEMS);
+
+        final Set<String> window = new HashSet<>();
+        for (int i = start; i <= end; i++) {
+            final CredentialCardModel cardModel = credentials.get(i).getCardModel();
+            window.add(cardModel.getClaimId());
+            prefetch(cardModel);
+        }
+        cancelOutside(window);
+    }
+
+    public void cancelAll() {
+        synchronized (mPendingPrefetches) {
+            for (Disposable disposable : mPendingPrefetches.values()) {
+                disposable.dispose();
+            }
+            mPendingPrefetches.clear();
+        }
+    }
+
+    private void prefetch(@NonNull final CredentialCardModel cardModel) {
+        if (cardModel.getImage() == null || isPending(cardModel.getClaimId()) || mImageCache.contains(cardModel)) {
+            return;
+        }
+        final String claimId = cardModel.getClaimId();
+        final Disposable disposable = Completable.fromAction(() -> {
+                    if (!mImageCache.contains(cardModel)) {
+                        final Bitmap image = BitmapUtil.getCardBitmap(cardModel.getImage());
+                        if (image != null) {
+                            mImageCache.put(cardModel, image);
+                        }
+                    }
+                })
+                .subscribeOn(Schedulers.computation())
+                .doFinally(() -> removePending(claimId))
+                .subscribe(() -> {
+                }, throwable -> Log.e(TAG, String.format("Failed to prefetch image for claim %s", claimId), throwable));
+        synchronized (mPendingPrefetches) {
+            if (!disposable.isDisposed()) {
+                mPendingPrefetches.put(claimId, disposable);
+            }
+        }
+    }
+
+    private void cancelOutside(@NonNull final Set<String> window) {
+        synchronized (mPendingPrefetches) {
+            final Iterator<Map.Entry<String, Disposable>> iterator = mPendingPrefetches.entrySet().iterator();
+            while (iterator.hasNext()) {
+                final Map.Entry<String, Disposable> entry = iterator.next();
+                if (!window.contains(entry.getKey())) {
+                    entry.getValue().dispose();
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    private boolean isPending(@NonNull final String claimId) {
+        synchronized (mPendingPrefetches) {
+            return mPendingPrefetches.containsKey(claimId);
+        }
+    }
+
+    private void removePending(@NonNull final String claimId) {
+        synchronized (mPendingPrefetches) {
+            mPendingPrefetches.remove(claimId);
+        }
+    }
+
+}
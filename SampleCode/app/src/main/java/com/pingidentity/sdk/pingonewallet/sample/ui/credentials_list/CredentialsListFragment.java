@@ -1,7 +1,9 @@
 package com.pingidentity.sdk.pingonewallet.sample.ui.credentials_list;
 
-import android.annotation.SuppressLint;
+import android.app.AlertDialog;
 import android.os.Bundle;
+import android.text.Editable;
+import android.text.TextWatcher;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -10,6 +12,7 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.lifecycle.Observer;
 import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
 
 import com.pingidentity.did.sdk.types.Claim;
 import com.pingidentity.sdk.pingonewallet.sample.MainApplication;
@@ -19,20 +22,21 @@ import com.pingidentity.sdk.pingonewallet.sample.callbacks.QrScannerCallback;
 import com.pingidentity.sdk.pingonewallet.sample.databinding.FragmentCredentialsListBinding;
 import com.pingidentity.sdk.pingonewallet.sample.di.component.FragmentComponent;
 import com.pingidentity.sdk.pingonewallet.sample.models.Profile;
-import com.pingidentity.sdk.pingonewallet.sample.models.Credential;
+import com.pingidentity.sdk.pingonewallet.sample.models.CredentialSortOrder;
 import com.pingidentity.sdk.pingonewallet.sample.rv_adapters.CardsListAdapter;
+import com.pingidentity.sdk.pingonewallet.sample.ui.MainActivity;
 import com.pingidentity.sdk.pingonewallet.sample.ui.base.BaseFragment;
 import com.pingidentity.sdk.pingonewallet.sample.ui.credential_details.CredentialDetailsFragment;
 import com.pingidentity.sdk.pingonewallet.sample.ui.qr_scanner.QrScannerFragment;
+import com.pingidentity.sdk.pingonewallet.sample.utils.BitmapPool;
+import com.pingidentity.sdk.pingonewallet.sample.utils.ThumbnailCache;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
 
 public class CredentialsListFragment extends BaseFragment<FragmentCredentialsListBinding, CredentialsListViewModel> implements QrScannerCallback {
 
-    private final List<Credential> mDocuments = new ArrayList<>();
+    private CardsListAdapter mCardsListAdapter;
+    private CredentialDetailsPrefetcher mDetailsPrefetcher;
 
     public static CredentialsListFragment newInstance() {
         return new CredentialsListFragment();
@@ -54,6 +58,7 @@ public class CredentialsListFragment extends BaseFragment<FragmentCredentialsLis
         processAppOpenUrl();
         retrieveData();
         setupClickListeners();
+        ((MainActivity) requireActivity()).getScannerSessionManager().prewarm();
     }
 
     @Override
@@ -68,25 +73,67 @@ public class CredentialsListFragment extends BaseFragment<FragmentCredentialsLis
 
     private void setupClickListeners() {
         getViewBinding().btnScanQr.setOnClickListener(view -> replaceFragment(QrScannerFragment.newInstance(this)));
+        getViewBinding().btnCancelSelection.setOnClickListener(view -> mCardsListAdapter.clearSelection());
+        getViewBinding().btnDeleteSelected.setOnClickListener(view -> confirmDeleteSelected());
+        getViewBinding().btnSort.setOnClickListener(view -> {
+            mViewModel.setSortOrder(mViewModel.getSortOrder() == CredentialSortOrder.ISSUANCE_DATE
+                    ? CredentialSortOrder.TYPE
+                    : CredentialSortOrder.ISSUANCE_DATE);
+            updateSortLabel();
+        });
+        updateSortLabel();
+        getViewBinding().edtSearch.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence s, int start, int count, int after) {
+                //Action not required
+            }
+
+            @Override
+            public void onTextChanged(CharSequence s, int start, int before, int count) {
+                //Action not required
+            }
+
+            @Override
+            public void afterTextChanged(Editable s) {
+                mViewModel.setSearchQuery(s.toString());
+            }
+        });
+    }
+
+    private void updateSelectionActions(int selectedCount) {
+        getViewBinding().btnScanQr.setVisibility(selectedCount > 0 ? View.GONE : View.VISIBLE);
+        getViewBinding().layoutSelectionActions.setVisibility(selectedCount > 0 ? View.VISIBLE : View.GONE);
+        getViewBinding().btnDeleteSelected.setText(getString(R.string.main_delete_selected, selectedCount));
+    }
+
+    private void confirmDeleteSelected() {
+        final List<Claim> selectedClaims = mCardsListAdapter.getSelectedClaims();
+        if (selectedClaims.isEmpty()) {
+            return;
+        }
+        new AlertDialog.Builder(requireContext())
+                .setMessage(getString(R.string.dialog_delete_selected_message, selectedClaims.size()))
+                .setPositiveButton(R.string.button_confirm, (dialog, which) -> {
+                    mViewModel.deleteClaims(selectedClaims);
+                    mCardsListAdapter.clearSelection();
+                })
+                .setNegativeButton(R.string.dialog_share_cancel, null)
+                .show();
+    }
+
+    private void updateSortLabel() {
+        getViewBinding().btnSort.setText(mViewModel.getSortOrder() == CredentialSortOrder.ISSUANCE_DATE
+                ? R.string.main_sort_by_date
+                : R.string.main_sort_by_type);
     }
 
     private void processAppOpenUrl() {
         ((MainApplication) requireActivity().getApplication()).getUrl().observe(getViewLifecycleOwner(), appOpenUrlObserver);
     }
 
-    @SuppressLint("NotifyDataSetChanged")
     private void retrieveData() {
-        mViewModel.getClaims().observe(getViewLifecycleOwner(), claims -> {
-            if (claims == null) {
-                return;
-            }
-            mDocuments.clear();
-            mDocuments.addAll(claims.stream().map(claim ->
-                            new Credential(claim, mViewModel.isClaimRevoked(claim.getId().toString())))
-                    .collect(Collectors.toList()));
-            mViewModel.resetClaimsLiveData();
-            Objects.requireNonNull(getViewBinding().rvCredentials.getAdapter()).notifyDataSetChanged();
-        });
+        mViewModel.getCredentials().observe(getViewLifecycleOwner(), credentials ->
+                mCardsListAdapter.submitList(credentials, () -> getViewBinding().rvCredentials.post(mDetailsPrefetcher::onVisibleRangeChanged)));
     }
 
     private void setupProfileView() {
@@ -96,7 +143,7 @@ public class CredentialsListFragment extends BaseFragment<FragmentCredentialsLis
     }
 
     private void setCardsListAdapter() {
-        CardsListAdapter adapter = new CardsListAdapter(mDocuments, credential ->
+        mCardsListAdapter = new CardsListAdapter(mViewModel::getThumbnail, credential ->
                 replaceFragment(CredentialDetailsFragment.newInstance(
                         credential, getString(R.string.delete_claim), new CredentialDetailsListener() {
                             @Override
@@ -109,10 +156,34 @@ public class CredentialsListFragment extends BaseFragment<FragmentCredentialsLis
                                 //Action not required
                             }
                         })
-                )
+                ),
+                this::updateSelectionActions
         );
-        getViewBinding().rvCredentials.setLayoutManager(new LinearLayoutManager(requireContext()));
-        getViewBinding().rvCredentials.setAdapter(adapter);
+        final LinearLayoutManager layoutManager = new LinearLayoutManager(requireContext());
+        getViewBinding().rvCredentials.setLayoutManager(layoutManager);
+        getViewBinding().rvCredentials.setAdapter(mCardsListAdapter);
+        mDetailsPrefetcher = new CredentialDetailsPrefetcher(layoutManager, mCardsListAdapter);
+        getViewBinding().rvCredentials.addOnScrollListener(mDetailsPrefetcher);
+        getViewBinding().rvCredentials.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                mViewModel.onListScrolled(layoutManager.findLastVisibleItemPosition());
+            }
+
+            @Override
+            public void onScrollStateChanged(@NonNull RecyclerView recyclerView, int newState) {
+                if (newState == RecyclerView.SCROLL_STATE_IDLE) {
+                    BitmapPool.getInstance().logStats();
+                    ThumbnailCache.getInstance().logStats();
+                }
+            }
+        });
+    }
+
+    @Override
+    public void onDestroyView() {
+        mDetailsPrefetcher.cancelAll();
+        super.onDestroyView();
     }
 
     @Override
@@ -1,47 +1,87 @@
 package com.pingidentity.sdk.pingonewallet.sample.ui.credentials_list;
 
+import android.graphics.Bitmap;
+import android.util.Log;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.lifecycle.LiveData;
 
 import com.pingidentity.did.sdk.types.Claim;
 import com.pingidentity.sdk.pingonewallet.sample.network.PingOneWalletHelper;
+import com.pingidentity.sdk.pingonewallet.sample.models.Credential;
+import com.pingidentity.sdk.pingonewallet.sample.models.CredentialCardModel;
+import com.pingidentity.sdk.pingonewallet.sample.models.CredentialSortOrder;
 import com.pingidentity.sdk.pingonewallet.sample.models.Profile;
+import com.pingidentity.sdk.pingonewallet.sample.models.ThumbnailSize;
 import com.pingidentity.sdk.pingonewallet.sample.storage.data_repository.DataRepository;
 import com.pingidentity.sdk.pingonewallet.sample.ui.base.BaseViewModel;
-import com.pingidentity.sdk.pingonewallet.utils.BackgroundThreadHandler;
 
 import java.util.List;
 
+import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
+import io.reactivex.rxjava3.disposables.Disposable;
+
 public class CredentialsListViewModel extends BaseViewModel {
 
+    public static final String TAG = CredentialsListViewModel.class.getCanonicalName();
+
     public static final String URL_HTTP = "http";
     public static final String URL_OPENID_VC = "openid-vc";
 
+    private final CredentialsPager mCredentialsPager;
+    private final Disposable mClaimChanges;
+
     public CredentialsListViewModel(DataRepository dataManager) {
         super(dataManager);
+        mCredentialsPager = new CredentialsPager(dataManager);
+        mCredentialsPager.refresh();
+        mClaimChanges = dataManager.observeClaimChanges()
+                .observeOn(AndroidSchedulers.mainThread())
+                .subscribe(mCredentialsPager::onClaimsChanged,
+                        throwable -> Log.e(TAG, "Claim changes stopped", throwable));
+    }
+
+    public LiveData<List<Credential>> getCredentials() {
+        return mCredentialsPager.getCredentials();
+    }
+
+    public void onListScrolled(int lastVisiblePosition) {
+        mCredentialsPager.onVisiblePositionChanged(lastVisiblePosition);
+    }
+
+    public CredentialSortOrder getSortOrder() {
+        return mCredentialsPager.getSortOrder();
     }
 
-    public LiveData<List<Claim>> getClaims() {
-        return getDataManager().subscribeClaimsChange();
+    public void setSortOrder(@NonNull final CredentialSortOrder sortOrder) {
+        mCredentialsPager.setSortOrder(sortOrder);
     }
 
-    public void resetClaimsLiveData() {
-        getDataManager().subscribeClaimsChange().postValue(null);
+    public void setSearchQuery(@NonNull final String query) {
+        mCredentialsPager.setQuery(query);
     }
 
     public boolean isClaimRevoked(@NonNull final String claimId) {
         return getDataManager().isClaimRevoked(claimId);
     }
 
+    @NonNull
+    public CredentialCardModel getCardModel(@NonNull final Claim claim) {
+        return getDataManager().getCardModel(claim);
+    }
+
+    @Nullable
+    public Bitmap getThumbnail(@NonNull final Claim claim, @NonNull final ThumbnailSize size) {
+        return getDataManager().getThumbnail(claim, size);
+    }
+
     public Profile getProfile(){
         return getDataManager().getProfile();
     }
 
     public void processUrl(String url) {
-        BackgroundThreadHandler.singleBackgroundThreadHandler().post(() -> {
-            PingOneWalletHelper.getInstance().processQrContent(url);
-        });
+        PingOneWalletHelper.getInstance().submitPayload(url);
     }
 
     public void deleteClaim(Claim claim){
@@ -49,4 +89,16 @@ public class CredentialsListViewModel extends BaseViewModel {
         PingOneWalletHelper.getInstance().reportCredentialDeletion(claim);
     }
 
+    public void deleteClaims(@NonNull final List<Claim> claims) {
+        getDataManager().deleteClaims(claims);
+        PingOneWalletHelper.getInstance().reportCredentialDeletions(claims);
+    }
+
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        mClaimChanges.dispose();
+        mCredentialsPager.dispose();
+    }
+
 }
\ No newline at end of file
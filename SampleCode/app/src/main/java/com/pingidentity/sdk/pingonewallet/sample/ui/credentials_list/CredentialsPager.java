@@ -0,0 +1,215 @@
+package com.pingidentity.sdk.pingonewallet.sample.ui.credentials_list;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import com.pingidentity.did.sdk.types.Claim;
+import com.pingidentity.sdk.pingonewallet.sample.models.Credential;
+import com.pingidentity.sdk.pingonewallet.sample.models.CredentialSortOrder;
+import com.pingidentity.sdk.pingonewallet.sample.models.CredentialSummary;
+import com.pingidentity.sdk.pingonewallet.sample.storage.data_repository.DataRepository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.reactivex.rxjava3.android.schedulers.AndroidSchedulers;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.disposables.CompositeDisposable;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+
+public class CredentialsPager {
+
+    public static final String TAG = CredentialsPager.class.getCanonicalName();
+
+    public static final int PAGE_SIZE = 20;
+    public static final int PREFETCH_DISTANCE = 10;
+
+    private final DataRepository mDataRepository;
+    private final MutableLiveData<List<Credential>> mCredentialsLiveData = new MutableLiveData<>();
+    private final CompositeDisposable mDisposables = new CompositeDisposable();
+
+    private CredentialSortOrder mSortOrder = CredentialSortOrder.ISSUANCE_DATE;
+    private String mQuery = "";
+    private List<CredentialSummary> mSummaries = Collections.emptyList();
+    private List<Credential> mLoadedCredentials = Collections.emptyList();
+    private int mLoadedSummaryCount = 0;
+    private boolean mLoading = false;
+    private int mGeneration = 0;
+    // Changed since the last completed load, a superseded load must not leave their old versions in the list
+    private final Set<String> mChangedClaimIds = new HashSet<>();
+
+    public CredentialsPager(DataRepository dataRepository) {
+        this.mDataRepository = dataRepository;
+    }
+
+    public LiveData<List<Credential>> getCredentials() {
+        return mCredentialsLiveData;
+    }
+
+    public CredentialSortOrder getSortOrder() {
+        return mSortOrder;
+    }
+
+    public void setSortOrder(@NonNull final CredentialSortOrder sortOrder) {
+        if (mSortOrder == sortOrder) {
+            return;
+        }
+        mSortOrder = sortOrder;
+        mLoadedCredentials = Collections.emptyList();
+        mLoadedSummaryCount = 0;
+        refresh();
+    }
+
+    public String getQuery() {
+        return mQuery;
+    }
+
+    public void setQuery(@NonNull final String query) {
+        final String trimmedQuery = query.trim();
+        if (mQuery.equals(trimmedQuery)) {
+            return;
+        }
+        mQuery = trimmedQuery;
+        mLoadedCredentials = Collections.emptyList();
+        mLoadedSummaryCount = 0;
+        refresh();
+    }
+
+    public void refresh() {
+        reload(Collections.emptyMap());
+    }
+
+    // Summaries are kept in memory, so only the changed claims and those shifted into the loaded range are read from storage
+    public void onClaimsChanged(@NonNull final Set<String> claimIds) {
+        mChangedClaimIds.addAll(claimIds);
+        final Map<String, Credential> unchangedCredentials = new HashMap<>();
+        for (Credential credential : mLoadedCredentials) {
+            final String claimId = credential.getClaim().getId().toString();
+            if (!mChangedClaimIds.contains(claimId)) {
+                unchangedCredentials.put(claimId, credential);
+            }
+        }
+        reload(unchangedCredentials);
+    }
+
+    private void reload(@NonNull final Map<String, Credential> unchangedCredentials) {
+        final int generation = ++mGeneration;
+        final CredentialSortOrder sortOrder = mSortOrder;
+        final String query = mQuery;
+        final int loadCount = Math.max(PAGE_SIZE, mLoadedSummaryCount);
+        mLoading = true;
+        mDisposables.add(Single.fromCallable(() -> {
+                    final List<CredentialSummary> summaries = filterSummaries(mDataRepository.getClaimSummaries(sortOrder), query);
+                    return new Page(summaries, loadCredentials(summaries, 0, loadCount, unchangedCredentials));
+                })
+                .subscribeOn(Schedulers.io())
+                .observeOn(AndroidSchedulers.mainThread())
+                .subscribe(page -> {
+                    if (generation != mGeneration) {
+                        return;
+                    }
+                    mChangedClaimIds.clear();
+                    mSummaries = page.summaries;
+                    mLoadedCredentials = page.credentials;
+                    mLoadedSummaryCount = Math.min(loadCount, page.summaries.size());
+                    mLoading = false;
+                    mCredentialsLiveData.setValue(mLoadedCredentials);
+                }, throwable -> {
+                    mLoading = false;
+                    Log.e(TAG, "Failed to load credentials", throwable);
+                }));
+    }
+
+    public void onVisiblePositionChanged(int lastVisiblePosition) {
+        if (mLoading || mLoadedSummaryCount >= mSummaries.size()) {
+            return;
+        }
+        if (lastVisiblePosition + PREFETCH_DISTANCE >= mLoadedCredentials.size()) {
+            loadNextPage();
+        }
+    }
+
+    public void dispose() {
+        mDisposables.clear();
+    }
+
+    private void loadNextPage() {
+        final int generation = mGeneration;
+        final List<CredentialSummary> summaries = mSummaries;
+        final int offset = mLoadedSummaryCount;
+        mLoading = true;
+        mDisposables.add(Single.fromCallable(() -> loadCredentials(summaries, offset, PAGE_SIZE, Collections.emptyMap()))
+                .subscribeOn(Schedulers.io())
+                .observeOn(AndroidSchedulers.mainThread())
+                .subscribe(credentials -> {
+                    if (generation != mGeneration) {
+                        return;
+                    }
+                    final List<Credential> loadedCredentials = new ArrayList<>(mLoadedCredentials.size() + credentials.size());
+                    loadedCredentials.addAll(mLoadedCredentials);
+                    loadedCredentials.addAll(credentials);
+                    mLoadedCredentials = loadedCredentials;
+                    mLoadedSummaryCount = Math.min(offset + PAGE_SIZE, summaries.size());
+                    mLoading = false;
+                    mCredentialsLiveData.setValue(mLoadedCredentials);
+                }, throwable -> {
+                    mLoading = false;
+                    Log.e(TAG, "Failed to load credentials page", throwable);
+                }));
+    }
+
+    @NonNull
+    private List<CredentialSummary> filterSummaries(@NonNull final List<CredentialSummary> summaries, @NonNull final String query) {
+        if (query.isEmpty()) {
+            return summaries;
+        }
+        final Set<String> matchingClaimIds = mDataRepository.searchClaimIds(query);
+        final List<CredentialSummary> filteredSummaries = new ArrayList<>(matchingClaimIds.size());
+        for (CredentialSummary summary : summaries) {
+            if (matchingClaimIds.contains(summary.getClaimId())) {
+                filteredSummaries.add(summary);
+            }
+        }
+        return filteredSummaries;
+    }
+
+    @NonNull
+    private List<Credential> loadCredentials(@NonNull final List<CredentialSummary> summaries, int offset, int count,
+                                             @NonNull final Map<String, Credential> loadedCredentials) {
+        final int end = Math.min(summaries.size(), offset + count);
+        final List<Credential> credentials = new ArrayList<>(Math.max(0, end - offset));
+        for (int i = offset; i < end; i++) {
+            final Credential loaded = loadedCredentials.get(summaries.get(i).getClaimId());
+            if (loaded != null) {
+                credentials.add(loaded);
+                continue;
+            }
+            final Claim claim = mDataRepository.getClaim(summaries.get(i).getClaimId());
+            if (claim != null) {
+                credentials.add(new Credential(claim, mDataRepository.getCardModel(claim)));
+            }
+        }
+        return credentials;
+    }
+
+    private static class Page {
+
+        final List<CredentialSummary> summaries;
+        final List<Credential> credentials;
+
+        Page(List<CredentialSummary> summaries, List<Credential> credentials) {
+            this.summaries = summaries;
+            this.credentials = credentials;
+        }
+
+    }
+
+}
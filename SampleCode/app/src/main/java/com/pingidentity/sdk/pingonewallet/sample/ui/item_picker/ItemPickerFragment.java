@@ -62,7 +62,7 @@ public class ItemPickerFragment extends BaseFragment<FragmentItemPickerBinding,
     }
 
     private ItemPickerAdapter getAdapter() {
-            return new ItemPickerAdapter(mClaimList, claim -> {
+            return new ItemPickerAdapter(mClaimList, mViewModel::getThumbnail, claim -> {
                 requireActivity().getSupportFragmentManager().popBackStack();
                 mItemPickerListener.onItemPicked(claim);
             });
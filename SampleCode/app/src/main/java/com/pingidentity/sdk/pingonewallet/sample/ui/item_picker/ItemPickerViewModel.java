@@ -1,5 +1,12 @@
 package com.pingidentity.sdk.pingonewallet.sample.ui.item_picker;
 
+import android.graphics.Bitmap;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.pingidentity.did.sdk.types.Claim;
+import com.pingidentity.sdk.pingonewallet.sample.models.ThumbnailSize;
 import com.pingidentity.sdk.pingonewallet.sample.storage.data_repository.DataRepository;
 import com.pingidentity.sdk.pingonewallet.sample.ui.base.BaseViewModel;
 
@@ -9,4 +16,9 @@ public class ItemPickerViewModel extends BaseViewModel {
         super(dataManager);
     }
 
+    @Nullable
+    public Bitmap getThumbnail(@NonNull final Claim claim, @NonNull final ThumbnailSize size) {
+        return getDataManager().getThumbnail(claim, size);
+    }
+
 }
@@ -0,0 +1,88 @@
+package com.pingidentity.sdk.pingonewallet.sample.ui.qr_scanner;
+
+import android.content.Context;
+import android.os.Build;
+import android.os.PowerManager;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.core.content.ContextCompat;
+
+public class AdaptiveFrameScheduler {
+
+    public static final String TAG = AdaptiveFrameScheduler.class.getCanonicalName();
+
+    private static final double LATENCY_SMOOTHING = 0.2;
+    private static final long MAX_FRAME_INTERVAL_MILLIS = 1000;
+    private static final long CANDIDATE_BOOST_MILLIS = 1500;
+
+    private final PowerManager mPowerManager;
+    private final PowerManager.OnThermalStatusChangedListener mThermalListener;
+
+    private boolean mInferenceInFlight = false;
+    private double mAverageLatencyMillis = 0;
+    private long mLastAcceptedMillis = 0;
+    private long mBoostUntilMillis = 0;
+    private int mThermalStatus = 0;
+
+    public AdaptiveFrameScheduler(@NonNull final Context context) {
+        mPowerManager = ContextCompat.getSystemService(context, PowerManager.class);
+        if (mPowerManager != null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            mThermalStatus = mPowerManager.getCurrentThermalStatus();
+            mThermalListener = this::onThermalStatusChanged;
+            mPowerManager.addThermalStatusListener(ContextCompat.getMainExecutor(context), mThermalListener);
+        } else {
+            mThermalListener = null;
+        }
+    }
+
+    public synchronized boolean tryAcquire(final long nowMillis) {
+        if (mInferenceInFlight) {
+            return false;
+        }
+        if (nowMillis >= mBoostUntilMillis && nowMillis - mLastAcceptedMillis < getFrameIntervalMillis()) {
+            return false;
+        }
+        mInferenceInFlight = true;
+        mLastAcceptedMillis = nowMillis;
+        return true;
+    }
+
+    public synchronized void onInferenceFinished(final long nowMillis, final long latencyMillis, final boolean candidateSeen) {
+        mInferenceInFlight = false;
+        mAverageLatencyMillis = mAverageLatencyMillis == 0
+                ? latencyMillis
+                : LATENCY_SMOOTHING * latencyMillis + (1 - LATENCY_SMOOTHING) * mAverageLatencyMillis;
+        if (candidateSeen) {
+            mBoostUntilMillis = nowMillis + CANDIDATE_BOOST_MILLIS;
+        }
+    }
+
+    // The gap left after each inference grows with its cost and with the device's thermal pressure
+    public synchronized long getFrameIntervalMillis() {
+        final double interval = mAverageLatencyMillis * getThermalFactor();
+        return Math.min(MAX_FRAME_INTERVAL_MILLIS, Math.round(interval));
+    }
+
+    public void release() {
+        if (mPowerManager != null && mThermalListener != null && Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            mPowerManager.removeThermalStatusListener(mThermalListener);
+        }
+    }
+
+    private double getThermalFactor() {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.Q || mThermalStatus <= PowerManager.THERMAL_STATUS_LIGHT) {
+            return 1;
+        }
+        if (mThermalStatus == PowerManager.THERMAL_STATUS_MODERATE) {
+            return 2;
+        }
+        return 4;
+    }
+
+    private synchronized void onThermalStatusChanged(final int status) {
+        Log.i(TAG, String.format("Thermal status changed to %d", status));
+        mThermalStatus = status;
+    }
+
+}
@@ -9,10 +9,15 @@ import android.view.View;
 
 public class BarcodeBoxView extends View {
     private final Paint mPaint = new Paint();
+    private final Paint mScanWindowPaint = new Paint();
     private RectF mRect = new RectF();
+    private RectF mScanWindow = new RectF();
 
     public BarcodeBoxView(Context context) {
         super(context);
+        mScanWindowPaint.setStyle(Paint.Style.STROKE);
+        mScanWindowPaint.setColor(Color.WHITE);
+        mScanWindowPaint.setStrokeWidth(4f);
     }
 
     @Override
@@ -24,9 +29,15 @@ public class BarcodeBoxView extends View {
         mPaint.setColor(Color.GREEN);
         mPaint.setStrokeWidth(12f);
 
+        canvas.drawRoundRect(mScanWindow, cornerRadius, cornerRadius, mScanWindowPaint);
         canvas.drawRoundRect(mRect, cornerRadius, cornerRadius, mPaint);
     }
 
+    public void setScanWindow(RectF scanWindow) {
+        mScanWindow = scanWindow;
+        invalidate();
+    }
+
     public void setRect(RectF rect) {
         mRect = rect;
         invalidate();
@@ -0,0 +1,237 @@
+package com.pingidentity.sdk.pingonewallet.sample.ui.qr_scanner;
+
+import android.graphics.Rect;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.camera.core.ImageAnalysis;
+import androidx.camera.core.ImageProxy;
+
+import com.pingidentity.sdk.pingonewallet.sample.ui.qr_scanner.decoder.LuminanceFrame;
+import com.pingidentity.sdk.pingonewallet.sample.ui.qr_scanner.decoder.QrDecoder;
+import com.pingidentity.sdk.pingonewallet.sample.ui.qr_scanner.decoder.QrResult;
+import com.pingidentity.sdk.pingonewallet.sample.utils.PerformanceMetrics;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+public class QrFrameAnalyzer implements ImageAnalysis.Analyzer {
+
+    public static final String TAG = QrFrameAnalyzer.class.getCanonicalName();
+
+    public static final String METRIC_FRAME_LATENCY = "qr_frame_latency";
+    public static final String METRIC_TIME_TO_DECODE = "qr_time_to_decode";
+    public static final String METRIC_TIME_TO_FIRST_FRAME = "qr_time_to_first_frame";
+    public static final String METRIC_FRAMES_ANALYZED = "qr_frames_analyzed";
+    public static final String METRIC_FRAMES_DROPPED = "qr_frames_dropped";
+    public static final String METRIC_FRAMES_SKIPPED = "qr_frames_skipped";
+
+    public static final float DEFAULT_SCAN_WINDOW_RATIO = 0.7f;
+
+    private static final int LUMINANCE_SAMPLE_STEP = 16;
+
+    public interface Listener {
+
+        void onBarcodesDetected(@NonNull List<QrResult> results, @NonNull FrameInfo frameInfo);
+
+        void onFrameAnalyzed(int meanLuminance, boolean candidateSeen);
+
+        void onAnalysisError(@NonNull Exception e);
+
+    }
+
+    private final QrDecoder mDecoder;
+    private final AdaptiveFrameScheduler mScheduler;
+    private final Listener mListener;
+    private final float mScanWindowRatio;
+    private final PerformanceMetrics mMetrics = PerformanceMetrics.getInstance();
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+
+    // Reused across frames; the scheduler admits no new frame until the decoder, including any fallback, has called back
+    private byte[] mCropBuffer;
+    private final long mOpenedAtMillis;
+    private final String mTimeToDecodeMetric;
+    private long mSessionStartMillis = 0;
+    private long mLastFrameTimestampNanos = 0;
+    private long mFrameIntervalNanos = Long.MAX_VALUE;
+    private boolean mDecoded = false;
+
+    public QrFrameAnalyzer(@NonNull final QrDecoder decoder, @NonNull final AdaptiveFrameScheduler scheduler,
+                           final long openedAtMillis, final float scanWindowRatio, @NonNull final String timeToDecodeMetric,
+                           @NonNull final Listener listener) {
+        this.mOpenedAtMillis = openedAtMillis;
+        this.mTimeToDecodeMetric = timeToDecodeMetric;
+        this.mDecoder = decoder;
+        this.mScheduler = scheduler;
+        this.mScanWindowRatio = scanWindowRatio;
+        this.mListener = listener;
+    }
+
+    @Override
+    public void analyze(@NonNull ImageProxy imageProxy) {
+        final long startMillis = SystemClock.elapsedRealtime();
+        if (mSessionStartMillis == 0) {
+            mSessionStartMillis = startMillis;
+            mMetrics.recordDuration(METRIC_TIME_TO_FIRST_FRAME, startMillis - mOpenedAtMillis);
+            mMetrics.logDuration(METRIC_TIME_TO_FIRST_FRAME);
+        }
+        countDroppedFrames(imageProxy.getImageInfo().getTimestamp());
+        if (!mScheduler.tryAcquire(startMillis)) {
+            mMetrics.increment(METRIC_FRAMES_SKIPPED);
+            imageProxy.close();
+            return;
+        }
+        mMetrics.increment(METRIC_FRAMES_ANALYZED);
+
+        final FrameInfo frameInfo = FrameInfo.centered(imageProxy.getWidth(), imageProxy.getHeight(),
+                imageProxy.getImageInfo().getRotationDegrees(), mScanWindowRatio);
+        final LuminanceFrame luminanceFrame;
+        try {
+            luminanceFrame = cropToScanWindow(imageProxy, frameInfo);
+        } finally {
+            // The crop is a copy, so the camera gets its buffer back before inference starts
+            imageProxy.close();
+        }
+        final int meanLuminance = getMeanLuminance(luminanceFrame);
+        mDecoder.decode(luminanceFrame, new QrDecoder.Callback() {
+            @Override
+            public void onDecoded(@NonNull List<QrResult> results) {
+                final boolean candidateSeen = !results.isEmpty();
+                onInferenceFinished(startMillis, candidateSeen);
+                runOnMainThread(() -> mListener.onFrameAnalyzed(meanLuminance, candidateSeen));
+                if (candidateSeen && !mDecoded) {
+                    mDecoded = true;
+                    mMetrics.recordDuration(mTimeToDecodeMetric, SystemClock.elapsedRealtime() - mSessionStartMillis);
+                    mMetrics.logDuration(mTimeToDecodeMetric);
+                    mMetrics.logDuration(METRIC_FRAME_LATENCY);
+                    mMetrics.logCounters(METRIC_FRAMES_ANALYZED, METRIC_FRAMES_SKIPPED, METRIC_FRAMES_DROPPED);
+                }
+                runOnMainThread(() -> mListener.onBarcodesDetected(results, frameInfo));
+            }
+
+            @Override
+            public void onError(@NonNull Exception e) {
+                onInferenceFinished(startMillis, false);
+                runOnMainThread(() -> mListener.onFrameAnalyzed(meanLuminance, false));
+                runOnMainThread(() -> mListener.onAnalysisError(e));
+            }
+        });
+    }
+
+    private static int getMeanLuminance(@NonNull final LuminanceFrame frame) {
+        final byte[] data = frame.getData();
+        final int lumaSize = frame.getWidth() * frame.getHeight();
+        long sum = 0;
+        int count = 0;
+        for (int i = 0; i < lumaSize; i += LUMINANCE_SAMPLE_STEP) {
+            sum += data[i] & 0xFF;
+            count++;
+        }
+        return count == 0 ? 0 : (int) (sum / count);
+    }
+
+    // ML Kit reports on the main thread while the pure Java engines report on the analysis thread
+    private void runOnMainThread(@NonNull final Runnable runnable) {
+        if (Looper.myLooper() == Looper.getMainLooper()) {
+            runnable.run();
+        } else {
+            mMainHandler.post(runnable);
+        }
+    }
+
+    private void onInferenceFinished(final long startMillis, final boolean candidateSeen) {
+        final long finishedMillis = SystemClock.elapsedRealtime();
+        mMetrics.recordDuration(METRIC_FRAME_LATENCY, finishedMillis - startMillis);
+        mScheduler.onInferenceFinished(finishedMillis, finishedMillis - startMillis, candidateSeen);
+    }
+
+    // With KEEP_ONLY_LATEST the camera silently replaces frames while one is being analyzed,
+    // so drops are estimated from gaps in the sensor timestamps against the shortest interval seen
+    private void countDroppedFrames(final long timestampNanos) {
+        if (mLastFrameTimestampNanos > 0 && timestampNanos > mLastFrameTimestampNanos) {
+            final long interval = timestampNanos - mLastFrameTimestampNanos;
+            mFrameIntervalNanos = Math.min(mFrameIntervalNanos, interval);
+            final long dropped = Math.round(interval / (double) mFrameIntervalNanos) - 1;
+            if (dropped > 0) {
+                mMetrics.increment(METRIC_FRAMES_DROPPED, dropped);
+            }
+        }
+        mLastFrameTimestampNanos = timestampNanos;
+    }
+
+    // Only the luminance of the scan window is handed to the decoder, chroma is left neutral
+    @NonNull
+    private LuminanceFrame cropToScanWindow(@NonNull final ImageProxy imageProxy, @NonNull final FrameInfo frameInfo) {
+        final Rect crop = frameInfo.getCropRect();
+        final int width = crop.width();
+        final int height = crop.height();
+        final int lumaSize = width * height;
+        if (mCropBuffer == null || mCropBuffer.length != lumaSize * 3 / 2) {
+            mCropBuffer = new byte[lumaSize * 3 / 2];
+            Arrays.fill(mCropBuffer, lumaSize, mCropBuffer.length, (byte) 128);
+        }
+        final ImageProxy.PlaneProxy lumaPlane = imageProxy.getPlanes()[0];
+        final ByteBuffer lumaBuffer = lumaPlane.getBuffer();
+        final int rowStride = lumaPlane.getRowStride();
+        for (int row = 0; row < height; row++) {
+            lumaBuffer.position((crop.top + row) * rowStride + crop.left);
+            lumaBuffer.get(mCropBuffer, row * width, width);
+        }
+        return new LuminanceFrame(mCropBuffer, width, height, frameInfo.getRotationDegrees());
+    }
+
+    public static class FrameInfo {
+
+        private final int uprightWidth;
+        private final int uprightHeight;
+        private final int rotationDegrees;
+        private final Rect cropRect;
+
+        private FrameInfo(int uprightWidth, int uprightHeight, int rotationDegrees, Rect cropRect) {
+            this.uprightWidth = uprightWidth;
+            this.uprightHeight = uprightHeight;
+            this.rotationDegrees = rotationDegrees;
+            this.cropRect = cropRect;
+        }
+
+        @NonNull
+        static FrameInfo centered(int width, int height, int rotationDegrees, float scanWindowRatio) {
+            // Even offsets and sizes keep the crop aligned with the 2x2 chroma blocks
+            final int side = ((int) (Math.min(width, height) * Math.min(1f, scanWindowRatio))) & ~1;
+            final int left = ((width - side) / 2) & ~1;
+            final int top = ((height - side) / 2) & ~1;
+            final boolean rotated = rotationDegrees == 90 || rotationDegrees == 270;
+            return new FrameInfo(rotated ? height : width, rotated ? width : height, rotationDegrees,
+                    new Rect(left, top, left + side, top + side));
+        }
+
+        public int getUprightWidth() {
+            return uprightWidth;
+        }
+
+        public int getUprightHeight() {
+            return uprightHeight;
+        }
+
+        public int getRotationDegrees() {
+            return rotationDegrees;
+        }
+
+        public Rect getCropRect() {
+            return cropRect;
+        }
+
+        // Barcode boxes come back in the upright crop space; the crop is centered, so mapping is a translation
+        @NonNull
+        public Rect toUprightFrame(@NonNull final Rect cropBox) {
+            final int offsetX = (uprightWidth - cropRect.width()) / 2;
+            final int offsetY = (uprightHeight - cropRect.height()) / 2;
+            return new Rect(cropBox.left + offsetX, cropBox.top + offsetY, cropBox.right + offsetX, cropBox.bottom + offsetY);
+        }
+
+    }
+
+}
@@ -1,13 +1,13 @@
 package com.pingidentity.sdk.pingonewallet.sample.ui.qr_scanner;
 
 import android.Manifest;
-import android.annotation.SuppressLint;
 import android.content.pm.PackageManager;
 import android.graphics.Rect;
 import android.graphics.RectF;
-import android.media.Image;
 import android.os.Bundle;
+import android.os.SystemClock;
 import android.util.Log;
+import android.util.Size;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -16,9 +16,9 @@ import androidx.activity.result.ActivityResultLauncher;
 import androidx.activity.result.contract.ActivityResultContracts;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.camera.core.Camera;
 import androidx.camera.core.CameraSelector;
 import androidx.camera.core.ImageAnalysis;
-import androidx.camera.core.ImageProxy;
 import androidx.camera.core.Preview;
 import androidx.camera.lifecycle.ProcessCameraProvider;
 import androidx.core.content.ContextCompat;
@@ -26,27 +26,26 @@ import androidx.databinding.DataBindingUtil;
 import androidx.fragment.app.Fragment;
 
 import com.google.common.util.concurrent.ListenableFuture;
-import com.google.mlkit.vision.barcode.BarcodeScanner;
-import com.google.mlkit.vision.barcode.BarcodeScannerOptions;
-import com.google.mlkit.vision.barcode.BarcodeScanning;
-import com.google.mlkit.vision.barcode.common.Barcode;
-import com.google.mlkit.vision.common.InputImage;
 import com.pingidentity.sdk.pingonewallet.sample.R;
 import com.pingidentity.sdk.pingonewallet.sample.callbacks.QrScannerCallback;
 import com.pingidentity.sdk.pingonewallet.sample.databinding.FragmentQrScannerBinding;
+import com.pingidentity.sdk.pingonewallet.sample.network.PingOneWalletHelper;
+import com.pingidentity.sdk.pingonewallet.sample.ui.MainActivity;
+import com.pingidentity.sdk.pingonewallet.sample.ui.qr_scanner.decoder.QrResult;
+import com.pingidentity.sdk.pingonewallet.sample.ui.qr_scanner.multipart.MultipartQrDecoder;
+import com.pingidentity.sdk.pingonewallet.sample.ui.qr_scanner.multipart.MultipartQrPart;
+import com.pingidentity.sdk.pingonewallet.sample.utils.PerformanceMetrics;
 
 import java.util.List;
-import java.util.Objects;
-import java.util.Timer;
-import java.util.TimerTask;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Executors;
 
 public class QrScannerFragment extends Fragment {
 
     public static final String TAG = QrScannerFragment.class.getCanonicalName();
 
     private static final float FRAME_PADDING = 10f;
+    private static final Size DEFAULT_ANALYSIS_RESOLUTION = new Size(720, 1280);
+    private static final long CONFIRMATION_DELAY_MILLIS = 400;
 
     private float scaleX = 1f;
     private float scaleY = 1f;
@@ -55,6 +54,15 @@ public class QrScannerFragment extends Fragment {
     private BarcodeBoxView mBarcodeBoxView;
     private FragmentQrScannerBinding mBinding;
     private QrScannerCallback mListener;
+    private Size mAnalysisResolution = DEFAULT_ANALYSIS_RESOLUTION;
+    private boolean mScanAssistEnabled = true;
+    private ScanAssistController mScanAssist;
+    private ScannerSessionManager mSessionManager;
+    private ImageAnalysis mAnalysisUseCase;
+    private AdaptiveFrameScheduler mFrameScheduler;
+    private long mOpenedAtMillis;
+    private boolean mHandedOff = false;
+    private final MultipartQrDecoder mMultipartDecoder = new MultipartQrDecoder();
 
     private final ActivityResultLauncher<String> permissionResult =
             registerForActivityResult(new ActivityResultContracts.RequestPermission(), result -> {
@@ -67,17 +75,30 @@ public class QrScannerFragment extends Fragment {
             });
 
     public static QrScannerFragment newInstance(QrScannerCallback listener) {
+        return newInstance(listener, DEFAULT_ANALYSIS_RESOLUTION, true);
+    }
+
+    public static QrScannerFragment newInstance(QrScannerCallback listener, Size analysisResolution, boolean scanAssistEnabled) {
         QrScannerFragment dialogFragment = new QrScannerFragment();
         dialogFragment.mListener = listener;
+        dialogFragment.mAnalysisResolution = analysisResolution;
+        dialogFragment.mScanAssistEnabled = scanAssistEnabled;
         return dialogFragment;
     }
 
     @Nullable
     @Override
     public View onCreateView(@NonNull LayoutInflater inflater, @Nullable ViewGroup container, @Nullable Bundle savedInstanceState) {
+        mOpenedAtMillis = SystemClock.elapsedRealtime();
+        mSessionManager = ((MainActivity) requireActivity()).getScannerSessionManager();
+        mSessionManager.onSessionStarted();
+        if (PingOneWalletHelper.getInstance() != null) {
+            PingOneWalletHelper.getInstance().prewarmHosts(null);
+        }
         mBinding = DataBindingUtil.inflate(inflater, R.layout.fragment_qr_scanner, container, false);
         mBarcodeBoxView = new BarcodeBoxView(requireContext());
         mBinding.viewContainer.addView(mBarcodeBoxView, new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.MATCH_PARENT));
+        mBinding.previewView.post(this::drawScanWindow);
         checkPermission();
         return mBinding.getRoot();
     }
@@ -85,6 +106,19 @@ public class QrScannerFragment extends Fragment {
     @Override
     public void onDestroyView() {
         super.onDestroyView();
+        if (mAnalysisUseCase != null) {
+            mAnalysisUseCase.clearAnalyzer();
+        }
+        if (mFrameScheduler != null) {
+            mFrameScheduler.release();
+        }
+        if (mScanAssist != null) {
+            mScanAssist.release();
+        }
+        mSessionManager.onSessionEnded();
+        if (mCameraProviderFuture == null || !mCameraProviderFuture.isDone()) {
+            return;
+        }
         try {
             mCameraProviderFuture.get().unbindAll();
         } catch (ExecutionException e) {
@@ -108,7 +142,7 @@ public class QrScannerFragment extends Fragment {
     //////////////////////////////////////////
 
     private void bindCameraUseCases() {
-        mCameraProviderFuture = ProcessCameraProvider.getInstance(requireActivity());
+        mCameraProviderFuture = mSessionManager.getCameraProviderFuture();
         mCameraProviderFuture.addListener(() -> {
             try {
                 ProcessCameraProvider cameraProvider = mCameraProviderFuture.get();
@@ -116,7 +150,9 @@ public class QrScannerFragment extends Fragment {
                 ImageAnalysis analysisUseCase = getAnalysisUseCase();
                 previewUseCase.setSurfaceProvider(mBinding.previewView.getSurfaceProvider());
                 CameraSelector cameraSelector = CameraSelector.DEFAULT_BACK_CAMERA;
-                cameraProvider.bindToLifecycle(QrScannerFragment.this, cameraSelector, previewUseCase, analysisUseCase);
+                Camera camera = cameraProvider.bindToLifecycle(QrScannerFragment.this, cameraSelector, previewUseCase, analysisUseCase);
+                mScanAssist = new ScanAssistController(camera, mScanAssistEnabled);
+                mSessionManager.setScanAssist(mScanAssist);
             } catch (ExecutionException e) {
                 Log.e(TAG, "Failed to bind camera", e);
                 mListener.onError(e);
@@ -129,61 +165,111 @@ public class QrScannerFragment extends Fragment {
     }
 
     private ImageAnalysis getAnalysisUseCase() {
-        BarcodeScannerOptions options = new BarcodeScannerOptions.Builder().setBarcodeFormats(Barcode.FORMAT_QR_CODE).build();
-        BarcodeScanner scanner = BarcodeScanning.getClient(options);
-        ImageAnalysis analysisUseCase = new ImageAnalysis.Builder().build();
-        analysisUseCase.setAnalyzer(
-                Executors.newSingleThreadExecutor(),
-                imageProxy -> processImageProxy(scanner, imageProxy, analysisUseCase)
-        );
+        ImageAnalysis analysisUseCase = new ImageAnalysis.Builder()
+                .setBackpressureStrategy(ImageAnalysis.STRATEGY_KEEP_ONLY_LATEST)
+                .setTargetResolution(mAnalysisResolution)
+                .setOutputImageFormat(ImageAnalysis.OUTPUT_IMAGE_FORMAT_YUV_420_888)
+                .build();
+        mAnalysisUseCase = analysisUseCase;
+        mFrameScheduler = new AdaptiveFrameScheduler(requireContext());
+        analysisUseCase.setAnalyzer(mSessionManager.getAnalysisExecutor(), new QrFrameAnalyzer(mSessionManager.getDecoder(), mFrameScheduler,
+                mOpenedAtMillis, QrFrameAnalyzer.DEFAULT_SCAN_WINDOW_RATIO, getTimeToDecodeMetric(),
+                new QrFrameAnalyzer.Listener() {
+                    @Override
+                    public void onBarcodesDetected(@NonNull List<QrResult> results, @NonNull QrFrameAnalyzer.FrameInfo frameInfo) {
+                        processBarcode(results, analysisUseCase, frameInfo);
+                    }
+
+                    @Override
+                    public void onFrameAnalyzed(int meanLuminance, boolean candidateSeen) {
+                        if (mScanAssist != null) {
+                            mScanAssist.onFrameAnalyzed(meanLuminance, candidateSeen);
+                        }
+                    }
+
+                    @Override
+                    public void onAnalysisError(@NonNull Exception e) {
+                        Log.e(TAG, "Failed to process barcode.", e);
+                        mListener.onError(e);
+                    }
+                }));
         return analysisUseCase;
     }
 
-    @SuppressLint("UnsafeOptInUsageError")
-    private void processImageProxy(BarcodeScanner barcodeScanner, ImageProxy imageProxy, ImageAnalysis analysisUseCase) {
-        if (imageProxy.getImage() == null) return;
-        Image image = imageProxy.getImage();
-        InputImage inputImage = InputImage.fromMediaImage(image, imageProxy.getImageInfo().getRotationDegrees());
-        barcodeScanner.process(inputImage)
-                .addOnSuccessListener(barcodes -> processBarcode(barcodes, analysisUseCase, inputImage))
-                .addOnFailureListener(throwable -> {
-                    Log.e(TAG, "Failed to process barcode.", throwable);
-                    mListener.onError(throwable);
-                })
-                .addOnCompleteListener(task -> {
-                    imageProxy.getImage().close();
-                    imageProxy.close();
-                });
+    // Kept apart so the median time-to-decode can be compared with zoom and torch assistance on and off
+    private String getTimeToDecodeMetric() {
+        return QrFrameAnalyzer.METRIC_TIME_TO_DECODE + (mScanAssistEnabled ? "_assisted" : "_unassisted");
+    }
+
+    // The analyzer crops a centered square of the same ratio from the camera frame. With the default
+    // FILL_CENTER preview the visible area is a subset of the frame, so the crop always covers this window.
+    private void drawScanWindow() {
+        if (mBinding == null) {
+            return;
+        }
+        final float width = mBinding.previewView.getWidth();
+        final float height = mBinding.previewView.getHeight();
+        final float side = Math.min(width, height) * QrFrameAnalyzer.DEFAULT_SCAN_WINDOW_RATIO;
+        final float left = mBinding.previewView.getLeft() + (width - side) / 2;
+        final float top = mBinding.previewView.getTop() + (height - side) / 2;
+        mBarcodeBoxView.setScanWindow(new RectF(left, top, left + side, top + side));
     }
 
     //////////////////////////////////////////
     ///////// Process Barcode ////////////////
     //////////////////////////////////////////
 
-    private void processBarcode(List<Barcode> barcodes, ImageAnalysis analysisUseCase, InputImage inputImage) {
+    private void processBarcode(List<QrResult> barcodes, ImageAnalysis analysisUseCase, QrFrameAnalyzer.FrameInfo frameInfo) {
         if (barcodes == null || barcodes.isEmpty()) {
             mBarcodeBoxView.setRect(new RectF());
             return;
         }
-        Barcode barcode = barcodes.get(0);
+        QrResult barcode = barcodes.get(0);
         if (barcode != null && barcode.getRawValue() != null) {
-            scaleX = mBinding.previewView.getWidth() / (float) inputImage.getHeight();
-            scaleY = mBinding.previewView.getHeight() / (float) inputImage.getWidth();
-            mBarcodeBoxView.setRect(adjustBoundingRect(Objects.requireNonNull(barcode.getBoundingBox())));
-            try {
-                mCameraProviderFuture.get().unbind(analysisUseCase);
-                stepDelay(() -> {
-                    mListener.onQrScanned(barcode.getRawValue());
-                    requireActivity().getSupportFragmentManager().popBackStack();
-                });
-            } catch (ExecutionException e) {
-                Log.e(TAG, "Failed to bind camera", e);
-                mListener.onError(e);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                Log.e(TAG, "Action interrupted.", e);
-                mListener.onError(e);
+            scaleX = mBinding.previewView.getWidth() / (float) frameInfo.getUprightWidth();
+            scaleY = mBinding.previewView.getHeight() / (float) frameInfo.getUprightHeight();
+            mBarcodeBoxView.setRect(adjustBoundingRect(frameInfo.toUprightFrame(new Rect(barcode.getLeft(), barcode.getTop(), barcode.getRight(), barcode.getBottom()))));
+        }
+        if (mHandedOff) {
+            return;
+        }
+        for (QrResult result : barcodes) {
+            final String rawValue = result.getRawValue();
+            if (rawValue == null) {
+                continue;
+            }
+            if (!MultipartQrPart.isPart(rawValue)) {
+                handOff(rawValue, analysisUseCase);
+                return;
             }
+            mMultipartDecoder.receivePart(rawValue);
+        }
+        if (mMultipartDecoder.isComplete()) {
+            handOff(mMultipartDecoder.getResultString(), analysisUseCase);
+        } else if (mMultipartDecoder.isFailed()) {
+            Log.w(TAG, "Multipart QR payload failed its checksum, collecting again");
+            mMultipartDecoder.reset();
+        } else if (mMultipartDecoder.getExpectedPartCount() > 0) {
+            mBinding.txtScanInstruction.setText(getString(R.string.qr_scan_progress,
+                    Math.round(mMultipartDecoder.getProgress() * 100)));
+        }
+    }
+
+    private void handOff(String payload, ImageAnalysis analysisUseCase) {
+        mHandedOff = true;
+        // The wallet starts on the payload while the detected frame is still shown as confirmation
+        PerformanceMetrics.getInstance().markStart(PingOneWalletHelper.METRIC_SCAN_TO_REQUEST_START);
+        mListener.onQrScanned(payload);
+        mBinding.getRoot().postDelayed(this::closeScanner, CONFIRMATION_DELAY_MILLIS);
+        try {
+            mCameraProviderFuture.get().unbind(analysisUseCase);
+        } catch (ExecutionException e) {
+            Log.e(TAG, "Failed to bind camera", e);
+            mListener.onError(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            Log.e(TAG, "Action interrupted.", e);
+            mListener.onError(e);
         }
     }
 
@@ -208,13 +294,10 @@ public class QrScannerFragment extends Fragment {
         return y * scaleY;
     }
 
-    private void stepDelay(Runnable runnable) {
-        new Timer().schedule(new TimerTask() {
-            @Override
-            public void run() {
-                requireActivity().runOnUiThread(runnable);
-            }
-        }, 1000);
+    private void closeScanner() {
+        if (isAdded() && !isStateSaved()) {
+            requireActivity().getSupportFragmentManager().popBackStack();
+        }
     }
 
 }
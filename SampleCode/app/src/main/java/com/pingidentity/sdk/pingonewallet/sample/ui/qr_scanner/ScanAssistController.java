@@ -0,0 +1,136 @@
+package com.pingidentity.sdk.pingonewallet.sample.ui.qr_scanner;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.camera.core.Camera;
+import androidx.camera.core.ZoomState;
+
+public class ScanAssistController {
+
+    public static final String TAG = ScanAssistController.class.getCanonicalName();
+
+    private static final long RAMP_DURATION_MILLIS = 300;
+    private static final long RAMP_STEP_MILLIS = 30;
+
+    private static final long IDLE_ZOOM_DELAY_MILLIS = 2000;
+    private static final float IDLE_ZOOM_STEP = 0.75f;
+    private static final float IDLE_MAX_ZOOM = 3f;
+
+    private static final int LOW_LIGHT_LUMINANCE = 45;
+    private static final int BRIGHT_LUMINANCE = 170;
+    private static final int LIGHT_FRAMES_TO_SWITCH = 5;
+
+    private final Camera mCamera;
+    private final boolean mEnabled;
+    private final Handler mHandler = new Handler(Looper.getMainLooper());
+
+    private Runnable mRamp;
+    private long mLastProgressMillis;
+    private boolean mZoomSuggested = false;
+    private boolean mTorchOn = false;
+    private int mLowLightFrames = 0;
+    private int mBrightFrames = 0;
+
+    public ScanAssistController(@NonNull final Camera camera, final boolean enabled) {
+        this.mCamera = camera;
+        this.mEnabled = enabled;
+        this.mLastProgressMillis = SystemClock.elapsedRealtime();
+    }
+
+    public boolean isEnabled() {
+        return mEnabled;
+    }
+
+    // Called by ML Kit when it sees a code that is too small to decode at the current zoom
+    public boolean onZoomSuggested(final float zoomRatio) {
+        if (!mEnabled) {
+            return false;
+        }
+        mHandler.post(() -> {
+            mZoomSuggested = true;
+            mLastProgressMillis = SystemClock.elapsedRealtime();
+            rampTo(zoomRatio);
+        });
+        return true;
+    }
+
+    public void onFrameAnalyzed(final int meanLuminance, final boolean candidateSeen) {
+        if (!mEnabled) {
+            return;
+        }
+        final long now = SystemClock.elapsedRealtime();
+        if (candidateSeen) {
+            mLastProgressMillis = now;
+        } else if (!mZoomSuggested && mRamp == null && now - mLastProgressMillis >= IDLE_ZOOM_DELAY_MILLIS) {
+            // Nothing recognisable for a while, the code is probably too far away to be seen at all
+            mLastProgressMillis = now;
+            final float current = getZoomRatio();
+            if (current < IDLE_MAX_ZOOM) {
+                rampTo(Math.min(IDLE_MAX_ZOOM, current + IDLE_ZOOM_STEP));
+            }
+        }
+        updateTorch(meanLuminance);
+    }
+
+    public void release() {
+        mHandler.removeCallbacksAndMessages(null);
+        mRamp = null;
+        if (mTorchOn) {
+            mCamera.getCameraControl().enableTorch(false);
+            mTorchOn = false;
+        }
+    }
+
+    private void updateTorch(final int meanLuminance) {
+        if (!mCamera.getCameraInfo().hasFlashUnit()) {
+            return;
+        }
+        mLowLightFrames = meanLuminance < LOW_LIGHT_LUMINANCE ? mLowLightFrames + 1 : 0;
+        mBrightFrames = meanLuminance > BRIGHT_LUMINANCE ? mBrightFrames + 1 : 0;
+        // The torch itself brightens the frame, so switching back off needs a much brighter scene
+        if (!mTorchOn && mLowLightFrames >= LIGHT_FRAMES_TO_SWITCH) {
+            Log.i(TAG, String.format("Low light detected (mean luminance %d), enabling torch", meanLuminance));
+            mTorchOn = true;
+            mCamera.getCameraControl().enableTorch(true);
+        } else if (mTorchOn && mBrightFrames >= LIGHT_FRAMES_TO_SWITCH) {
+            mTorchOn = false;
+            mCamera.getCameraControl().enableTorch(false);
+        }
+    }
+
+    private void rampTo(final float targetRatio) {
+        final ZoomState zoomState = mCamera.getCameraInfo().getZoomState().getValue();
+        if (zoomState == null) {
+            return;
+        }
+        final float target = Math.max(zoomState.getMinZoomRatio(), Math.min(zoomState.getMaxZoomRatio(), targetRatio));
+        final float start = zoomState.getZoomRatio();
+        if (mRamp != null) {
+            mHandler.removeCallbacks(mRamp);
+        }
+        final long startMillis = SystemClock.elapsedRealtime();
+        mRamp = new Runnable() {
+            @Override
+            public void run() {
+                final float progress = Math.min(1f, (SystemClock.elapsedRealtime() - startMillis) / (float) RAMP_DURATION_MILLIS);
+                mCamera.getCameraControl().setZoomRatio(start + (target - start) * progress);
+                if (progress < 1f) {
+                    mHandler.postDelayed(this, RAMP_STEP_MILLIS);
+                } else {
+                    mRamp = null;
+                }
+            }
+        };
+        mHandler.post(mRamp);
+    }
+
+    private float getZoomRatio() {
+        final ZoomState zoomState = mCamera.getCameraInfo().getZoomState().getValue();
+        return zoomState == null ? 1f : zoomState.getZoomRatio();
+    }
+
+}
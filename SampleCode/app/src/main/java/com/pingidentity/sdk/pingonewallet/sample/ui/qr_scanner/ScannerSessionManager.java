@@ -0,0 +1,147 @@
+package com.pingidentity.sdk.pingonewallet.sample.ui.qr_scanner;
+
+import android.Manifest;
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.pm.PackageManager;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.camera.lifecycle.ProcessCameraProvider;
+import androidx.core.content.ContextCompat;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.pingidentity.sdk.pingonewallet.sample.ui.qr_scanner.decoder.FallbackQrDecoder;
+import com.pingidentity.sdk.pingonewallet.sample.ui.qr_scanner.decoder.LuminanceFrame;
+import com.pingidentity.sdk.pingonewallet.sample.ui.qr_scanner.decoder.MlKitQrDecoder;
+import com.pingidentity.sdk.pingonewallet.sample.ui.qr_scanner.decoder.QrDecoder;
+import com.pingidentity.sdk.pingonewallet.sample.ui.qr_scanner.decoder.QrResult;
+import com.pingidentity.sdk.pingonewallet.sample.ui.qr_scanner.decoder.ZxingQrDecoder;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Owned by MainActivity, so the camera provider, decoder and analysis thread outlive a single scanner screen
+public class ScannerSessionManager {
+
+    public static final String TAG = ScannerSessionManager.class.getCanonicalName();
+
+    private static final int WARM_UP_FRAME_SIZE = 32;
+    private static final float MAX_SUGGESTED_ZOOM_RATIO = 5f;
+
+    private final Context mContext;
+
+    private ListenableFuture<ProcessCameraProvider> mCameraProviderFuture;
+    private QrDecoder mDecoder;
+    private ExecutorService mAnalysisExecutor;
+    private volatile ScanAssistController mScanAssist;
+    private boolean mSessionActive = false;
+    private boolean mReleasePending = false;
+
+    public ScannerSessionManager(@NonNull final Context context) {
+        this.mContext = context.getApplicationContext();
+    }
+
+    public void prewarm() {
+        if (ContextCompat.checkSelfPermission(mContext, Manifest.permission.CAMERA) != PackageManager.PERMISSION_GRANTED) {
+            return;
+        }
+        getCameraProviderFuture();
+        getAnalysisExecutor();
+        if (mDecoder == null) {
+            warmUpDecoder(getDecoder());
+        }
+    }
+
+    @NonNull
+    public ListenableFuture<ProcessCameraProvider> getCameraProviderFuture() {
+        if (mCameraProviderFuture == null) {
+            mCameraProviderFuture = ProcessCameraProvider.getInstance(mContext);
+        }
+        return mCameraProviderFuture;
+    }
+
+    @NonNull
+    public QrDecoder getDecoder() {
+        if (mDecoder == null) {
+            // The decoder outlives the scanner screen, so zoom suggestions go to whichever session is attached
+            mDecoder = new FallbackQrDecoder(new MlKitQrDecoder(zoomRatio -> {
+                final ScanAssistController scanAssist = mScanAssist;
+                return scanAssist != null && scanAssist.onZoomSuggested(zoomRatio);
+            }, MAX_SUGGESTED_ZOOM_RATIO), new ZxingQrDecoder(), command -> getAnalysisExecutor().execute(command));
+        }
+        return mDecoder;
+    }
+
+    @NonNull
+    public ExecutorService getAnalysisExecutor() {
+        if (mAnalysisExecutor == null || mAnalysisExecutor.isShutdown()) {
+            mAnalysisExecutor = Executors.newSingleThreadExecutor();
+        }
+        return mAnalysisExecutor;
+    }
+
+    public void onSessionStarted() {
+        mSessionActive = true;
+    }
+
+    public void setScanAssist(@Nullable final ScanAssistController scanAssist) {
+        mScanAssist = scanAssist;
+    }
+
+    public void onSessionEnded() {
+        mSessionActive = false;
+        mScanAssist = null;
+        if (mReleasePending) {
+            release();
+        }
+    }
+
+    // A scanner kept in the back stack still has the analyzer attached, so release waits for it to close
+    public void onTrimMemory(int level) {
+        if (level < ComponentCallbacks2.TRIM_MEMORY_UI_HIDDEN) {
+            return;
+        }
+        if (mSessionActive) {
+            mReleasePending = true;
+        } else {
+            release();
+        }
+    }
+
+    // The camera provider is a process wide singleton, only its future is dropped here
+    public void release() {
+        mReleasePending = false;
+        if (mDecoder != null) {
+            mDecoder.close();
+            mDecoder = null;
+        }
+        if (mAnalysisExecutor != null) {
+            mAnalysisExecutor.shutdown();
+            mAnalysisExecutor = null;
+        }
+        mCameraProviderFuture = null;
+    }
+
+    // The first inference loads the ML Kit model, so run it on a blank frame before the scanner opens
+    private void warmUpDecoder(@NonNull final QrDecoder decoder) {
+        final long startMillis = SystemClock.elapsedRealtime();
+        final LuminanceFrame blankFrame = new LuminanceFrame(
+                new byte[WARM_UP_FRAME_SIZE * WARM_UP_FRAME_SIZE * 3 / 2], WARM_UP_FRAME_SIZE, WARM_UP_FRAME_SIZE, 0);
+        getAnalysisExecutor().execute(() -> decoder.decode(blankFrame, new QrDecoder.Callback() {
+            @Override
+            public void onDecoded(@NonNull List<QrResult> results) {
+                Log.i(TAG, String.format("%s decoder warmed up in %dms", decoder.getName(), SystemClock.elapsedRealtime() - startMillis));
+            }
+
+            @Override
+            public void onError(@NonNull Exception e) {
+                Log.w(TAG, "Failed to warm up decoder", e);
+            }
+        }));
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.pingidentity.sdk.pingonewallet.sample.ui.qr_scanner.decoder;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// A frame the primary engine fails on is decoded by the fallback one. Only a run of consecutive failures,
+// e.g. while the ML Kit model is still downloading, moves whole frames to the fallback, and the primary is retried later
+public class FallbackQrDecoder implements QrDecoder {
+
+    public static final String TAG = FallbackQrDecoder.class.getCanonicalName();
+
+    private static final int MAX_CONSECUTIVE_FAILURES = 5;
+    private static final long PRIMARY_RETRY_DELAY_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
+    private final QrDecoder mPrimary;
+    private final QrDecoder mFallback;
+    private final Executor mFallbackExecutor;
+    private final AtomicInteger mConsecutiveFailures = new AtomicInteger();
+    private volatile long mRetryPrimaryAtMillis = 0;
+
+    // ML Kit reports failures on the main thread, so the fallback decode of that frame is posted back to the analysis thread
+    public FallbackQrDecoder(@NonNull final QrDecoder primary, @NonNull final QrDecoder fallback, @NonNull final Executor fallbackExecutor) {
+        this.mPrimary = primary;
+        this.mFallback = fallback;
+        this.mFallbackExecutor = fallbackExecutor;
+    }
+
+    @NonNull
+    @Override
+    public String getName() {
+        return isUsingFallback() ? mFallback.getName() : mPrimary.getName();
+    }
+
+    @Override
+    public void decode(@NonNull LuminanceFrame frame, @NonNull Callback callback) {
+        if (isUsingFallback() && SystemClock.elapsedRealtime() < mRetryPrimaryAtMillis) {
+            mFallback.decode(frame, callback);
+            return;
+        }
+        mPrimary.decode(frame, new Callback() {
+            @Override
+            public void onDecoded(@NonNull List<QrResult> results) {
+                mConsecutiveFailures.set(0);
+                callback.onDecoded(results);
+            }
+
+            @Override
+            public void onError(@NonNull Exception e) {
+                final int failures = mConsecutiveFailures.incrementAndGet();
+                if (failures >= MAX_CONSECUTIVE_FAILURES) {
+                    Log.w(TAG, String.format("%s decoder failed %d times in a row, using %s for a while", mPrimary.getName(), failures, mFallback.getName()), e);
+                    mRetryPrimaryAtMillis = SystemClock.elapsedRealtime() + PRIMARY_RETRY_DELAY_MILLIS;
+                } else {
+                    Log.w(TAG, String.format("%s decoder failed on a frame, decoding it with %s", mPrimary.getName(), mFallback.getName()), e);
+                }
+                mFallbackExecutor.execute(() -> mFallback.decode(frame, callback));
+            }
+        });
+    }
+
+    public boolean isUsingFallback() {
+        return mConsecutiveFailures.get() >= MAX_CONSECUTIVE_FAILURES;
+    }
+
+    @Override
+    public void close() {
+        mPrimary.close();
+        mFallback.close();
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.pingidentity.sdk.pingonewallet.sample.ui.qr_scanner.decoder;
+
+import androidx.annotation.NonNull;
+
+// The first width * height bytes are the luminance plane. Buffers produced by the camera pipeline
+// carry a neutral NV21 chroma plane after it, so the same frame can be handed to either engine.
+public class LuminanceFrame {
+
+    private final byte[] data;
+    private final int width;
+    private final int height;
+    private final int rotationDegrees;
+
+    public LuminanceFrame(@NonNull byte[] data, int width, int height, int rotationDegrees) {
+        if (data.length < width * height) {
+            throw new IllegalArgumentException("Luminance plane is smaller than " + width + "x" + height);
+        }
+        this.data = data;
+        this.width = width;
+        this.height = height;
+        this.rotationDegrees = rotationDegrees;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getRotationDegrees() {
+        return rotationDegrees;
+    }
+
+    public boolean hasNv21Chroma() {
+        return data.length >= width * height * 3 / 2;
+    }
+
+}
@@ -0,0 +1,84 @@
+package com.pingidentity.sdk.pingonewallet.sample.ui.qr_scanner.decoder;
+
+import android.graphics.Rect;
+
+import androidx.annotation.NonNull;
+
+import com.google.mlkit.vision.barcode.BarcodeScanner;
+import com.google.mlkit.vision.barcode.BarcodeScannerOptions;
+import com.google.mlkit.vision.barcode.BarcodeScanning;
+import com.google.mlkit.vision.barcode.ZoomSuggestionOptions;
+import com.google.mlkit.vision.barcode.common.Barcode;
+import com.google.mlkit.vision.common.InputImage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class MlKitQrDecoder implements QrDecoder {
+
+    public static final String NAME = "mlkit";
+
+    private final BarcodeScanner mScanner;
+
+    public MlKitQrDecoder() {
+        this(BarcodeScanning.getClient(new BarcodeScannerOptions.Builder().setBarcodeFormats(Barcode.FORMAT_QR_CODE).build()));
+    }
+
+    // ML Kit asks for more zoom through the callback when it sees a code too small to decode
+    public MlKitQrDecoder(@NonNull final ZoomSuggestionOptions.ZoomCallback zoomCallback, final float maxSupportedZoomRatio) {
+        this(BarcodeScanning.getClient(new BarcodeScannerOptions.Builder()
+                .setBarcodeFormats(Barcode.FORMAT_QR_CODE)
+                .setZoomSuggestionOptions(new ZoomSuggestionOptions.Builder(zoomCallback)
+                        .setMaxSupportedZoomRatio(maxSupportedZoomRatio)
+                        .build())
+                .build()));
+    }
+
+    public MlKitQrDecoder(@NonNull final BarcodeScanner scanner) {
+        this.mScanner = scanner;
+    }
+
+    @NonNull
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void decode(@NonNull LuminanceFrame frame, @NonNull Callback callback) {
+        final InputImage inputImage = InputImage.fromByteArray(toNv21(frame), frame.getWidth(), frame.getHeight(),
+                frame.getRotationDegrees(), InputImage.IMAGE_FORMAT_NV21);
+        mScanner.process(inputImage)
+                .addOnSuccessListener(barcodes -> callback.onDecoded(toResults(barcodes)))
+                .addOnFailureListener(callback::onError);
+    }
+
+    @Override
+    public void close() {
+        mScanner.close();
+    }
+
+    @NonNull
+    private static byte[] toNv21(@NonNull final LuminanceFrame frame) {
+        if (frame.hasNv21Chroma()) {
+            return frame.getData();
+        }
+        final int lumaSize = frame.getWidth() * frame.getHeight();
+        final byte[] nv21 = new byte[lumaSize * 3 / 2];
+        System.arraycopy(frame.getData(), 0, nv21, 0, lumaSize);
+        Arrays.fill(nv21, lumaSize, nv21.length, (byte) 128);
+        return nv21;
+    }
+
+    @NonNull
+    private static List<QrResult> toResults(@NonNull final List<Barcode> barcodes) {
+        final List<QrResult> results = new ArrayList<>(barcodes.size());
+        for (Barcode barcode : barcodes) {
+            final Rect box = barcode.getBoundingBox() == null ? new Rect() : barcode.getBoundingBox();
+            results.add(new QrResult(barcode.getRawValue(), box.left, box.top, box.right, box.bottom));
+        }
+        return results;
+    }
+
+}
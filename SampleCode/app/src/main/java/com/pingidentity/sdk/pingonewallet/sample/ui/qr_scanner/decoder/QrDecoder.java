@@ -0,0 +1,24 @@
+package com.pingidentity.sdk.pingonewallet.sample.ui.qr_scanner.decoder;
+
+import androidx.annotation.NonNull;
+
+import java.util.List;
+
+public interface QrDecoder {
+
+    interface Callback {
+
+        void onDecoded(@NonNull List<QrResult> results);
+
+        void onError(@NonNull Exception e);
+
+    }
+
+    @NonNull
+    String getName();
+
+    void decode(@NonNull LuminanceFrame frame, @NonNull Callback callback);
+
+    void close();
+
+}
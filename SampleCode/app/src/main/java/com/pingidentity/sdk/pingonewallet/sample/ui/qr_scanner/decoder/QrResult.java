@@ -0,0 +1,50 @@
+package com.pingidentity.sdk.pingonewallet.sample.ui.qr_scanner.decoder;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+// Bounds are in the upright frame, after the frame rotation has been applied
+public class QrResult {
+
+    private final String rawValue;
+    private final int left;
+    private final int top;
+    private final int right;
+    private final int bottom;
+
+    public QrResult(@Nullable String rawValue, int left, int top, int right, int bottom) {
+        this.rawValue = rawValue;
+        this.left = left;
+        this.top = top;
+        this.right = right;
+        this.bottom = bottom;
+    }
+
+    @Nullable
+    public String getRawValue() {
+        return rawValue;
+    }
+
+    public int getLeft() {
+        return left;
+    }
+
+    public int getTop() {
+        return top;
+    }
+
+    public int getRight() {
+        return right;
+    }
+
+    public int getBottom() {
+        return bottom;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "QrResult{" + rawValue + " @ [" + left + "," + top + "," + right + "," + bottom + "]}";
+    }
+
+}
@@ -0,0 +1,108 @@
+package com.pingidentity.sdk.pingonewallet.sample.ui.qr_scanner.decoder;
+
+import androidx.annotation.NonNull;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.BinaryBitmap;
+import com.google.zxing.DecodeHintType;
+import com.google.zxing.LuminanceSource;
+import com.google.zxing.PlanarYUVLuminanceSource;
+import com.google.zxing.ReaderException;
+import com.google.zxing.Result;
+import com.google.zxing.ResultPoint;
+import com.google.zxing.common.HybridBinarizer;
+import com.google.zxing.qrcode.QRCodeReader;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// Pure Java engine, so decoding can be tested and benchmarked on the JVM without a device
+public class ZxingQrDecoder implements QrDecoder {
+
+    public static final String NAME = "zxing";
+
+    private final QRCodeReader mReader = new QRCodeReader();
+    private final Map<DecodeHintType, Object> mHints = new EnumMap<>(DecodeHintType.class);
+
+    public ZxingQrDecoder() {
+        mHints.put(DecodeHintType.POSSIBLE_FORMATS, Collections.singletonList(BarcodeFormat.QR_CODE));
+        mHints.put(DecodeHintType.TRY_HARDER, Boolean.TRUE);
+    }
+
+    @NonNull
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void decode(@NonNull LuminanceFrame frame, @NonNull Callback callback) {
+        final List<QrResult> results;
+        try {
+            results = decode(frame);
+        } catch (RuntimeException e) {
+            callback.onError(e);
+            return;
+        }
+        callback.onDecoded(results);
+    }
+
+    @NonNull
+    public synchronized List<QrResult> decode(@NonNull final LuminanceFrame frame) {
+        final LuminanceSource source = new PlanarYUVLuminanceSource(frame.getData(), frame.getWidth(), frame.getHeight(),
+                0, 0, frame.getWidth(), frame.getHeight(), false);
+        try {
+            final Result result = mReader.decode(new BinaryBitmap(new HybridBinarizer(source)), mHints);
+            return Collections.singletonList(toResult(result, frame));
+        } catch (ReaderException e) {
+            return Collections.emptyList();
+        } finally {
+            mReader.reset();
+        }
+    }
+
+    @Override
+    public void close() {
+        // Nothing to release
+    }
+
+    @NonNull
+    private static QrResult toResult(@NonNull final Result result, @NonNull final LuminanceFrame frame) {
+        int left = Integer.MAX_VALUE;
+        int top = Integer.MAX_VALUE;
+        int right = Integer.MIN_VALUE;
+        int bottom = Integer.MIN_VALUE;
+        final ResultPoint[] points = result.getResultPoints() == null ? new ResultPoint[0] : result.getResultPoints();
+        for (ResultPoint point : points) {
+            final int[] upright = toUpright(point.getX(), point.getY(), frame);
+            left = Math.min(left, upright[0]);
+            top = Math.min(top, upright[1]);
+            right = Math.max(right, upright[0]);
+            bottom = Math.max(bottom, upright[1]);
+        }
+        if (points.length == 0) {
+            left = top = right = bottom = 0;
+        }
+        return new QrResult(result.getText(), left, top, right, bottom);
+    }
+
+    // ZXing reports points in sensor orientation, ML Kit in the upright orientation
+    @NonNull
+    static int[] toUpright(final float x, final float y, @NonNull final LuminanceFrame frame) {
+        final int width = frame.getWidth();
+        final int height = frame.getHeight();
+        switch (frame.getRotationDegrees()) {
+            case 90:
+                return new int[]{Math.round(height - y), Math.round(x)};
+            case 180:
+                return new int[]{Math.round(width - x), Math.round(height - y)};
+            case 270:
+                return new int[]{Math.round(y), Math.round(width - x)};
+            default:
+                return new int[]{Math.round(x), Math.round(y)};
+        }
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.pingidentity.sdk.pingonewallet.sample.ui.qr_scanner.multipart;
+
+import androidx.annotation.NonNull;
+
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+// Shared by the encoder and decoder: both sides derive which fragments a part mixes from its
+// sequence number and the message checksum, so the mix never has to be transmitted.
+final class FountainSequence {
+
+    private FountainSequence() {
+    }
+
+    // The first seqLen parts carry each fragment once; later parts XOR a random subset of them
+    @NonNull
+    static int[] chooseFragments(final int seqNum, final int seqLen, final long checksum) {
+        if (seqNum <= seqLen) {
+            return new int[]{seqNum - 1};
+        }
+        final SplitMix64 random = new SplitMix64((checksum << 32) ^ seqNum);
+        final int degree = chooseDegree(seqLen, random);
+        final int[] indexes = new int[seqLen];
+        for (int i = 0; i < seqLen; i++) {
+            indexes[i] = i;
+        }
+        for (int i = seqLen - 1; i > 0; i--) {
+            final int j = random.nextInt(i + 1);
+            final int swap = indexes[i];
+            indexes[i] = indexes[j];
+            indexes[j] = swap;
+        }
+        final int[] chosen = Arrays.copyOf(indexes, degree);
+        Arrays.sort(chosen);
+        return chosen;
+    }
+
+    static long checksum(@NonNull final byte[] message) {
+        final CRC32 crc32 = new CRC32();
+        crc32.update(message, 0, message.length);
+        return crc32.getValue();
+    }
+
+    static int fragmentLength(final int messageLength, final int maxFragmentLength) {
+        final int fragmentCount = (messageLength + maxFragmentLength - 1) / maxFragmentLength;
+        return (messageLength + fragmentCount - 1) / fragmentCount;
+    }
+
+    static void xorInto(@NonNull final byte[] target, @NonNull final byte[] source) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] ^= source[i];
+        }
+    }
+
+    // Degree d is picked with probability proportional to 1/d, so most mixed parts stay cheap to peel
+    private static int chooseDegree(final int seqLen, @NonNull final SplitMix64 random) {
+        double total = 0;
+        for (int degree = 1; degree <= seqLen; degree++) {
+            total += 1.0 / degree;
+        }
+        double target = random.nextDouble() * total;
+        for (int degree = 1; degree <= seqLen; degree++) {
+            target -= 1.0 / degree;
+            if (target <= 0) {
+                return degree;
+            }
+        }
+        return seqLen;
+    }
+
+    // Spelled out rather than java.util.Random so other encoders can reproduce the sequence exactly
+    static final class SplitMix64 {
+
+        private long state;
+
+        SplitMix64(final long seed) {
+            this.state = seed;
+        }
+
+        long nextLong() {
+            long z = (state += 0x9E3779B97F4A7C15L);
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            return z ^ (z >>> 31);
+        }
+
+        double nextDouble() {
+            return (nextLong() >>> 11) * 0x1.0p-53;
+        }
+
+        int nextInt(final int bound) {
+            return (int) ((nextLong() >>> 33) % bound);
+        }
+
+    }
+
+}
@@ -0,0 +1,192 @@
+package com.pingidentity.sdk.pingonewallet.sample.ui.qr_scanner.multipart;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+public class MultipartQrDecoder {
+
+    private static final int MAX_SEQ_LEN = 1024;
+
+    private int mSeqLen = 0;
+    private int mMessageLength = 0;
+    private long mChecksum = 0;
+    private int mFragmentLength = 0;
+
+    private final Set<Integer> mReceivedSeqNums = new HashSet<>();
+    private final Map<Integer, byte[]> mSimpleFragments = new HashMap<>();
+    private final List<MixedPart> mMixedParts = new ArrayList<>();
+
+    private byte[] mResult;
+    private boolean mFailed = false;
+
+    // Returns false when the part was a duplicate or does not belong to the sequence being collected
+    public boolean receivePart(@NonNull final String value) {
+        if (isComplete()) {
+            return false;
+        }
+        final MultipartQrPart part;
+        try {
+            part = MultipartQrPart.parse(value);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        if (!acceptHeader(part) || !mReceivedSeqNums.add(part.getSeqNum())) {
+            return false;
+        }
+        final int[] indexes = FountainSequence.chooseFragments(part.getSeqNum(), mSeqLen, mChecksum);
+        final TreeSet<Integer> fragmentIndexes = new TreeSet<>();
+        for (int index : indexes) {
+            fragmentIndexes.add(index);
+        }
+        addPart(new MixedPart(fragmentIndexes, part.getData().clone()));
+        if (mSimpleFragments.size() == mSeqLen) {
+            assemble();
+        }
+        return true;
+    }
+
+    public boolean isComplete() {
+        return mResult != null;
+    }
+
+    public boolean isFailed() {
+        return mFailed;
+    }
+
+    public float getProgress() {
+        if (mSeqLen == 0) {
+            return 0f;
+        }
+        return isComplete() ? 1f : mSimpleFragments.size() / (float) mSeqLen;
+    }
+
+    public int getReceivedPartCount() {
+        return mReceivedSeqNums.size();
+    }
+
+    public int getExpectedPartCount() {
+        return mSeqLen;
+    }
+
+    @Nullable
+    public byte[] getResult() {
+        return mResult;
+    }
+
+    @Nullable
+    public String getResultString() {
+        return mResult == null ? null : new String(mResult, StandardCharsets.UTF_8);
+    }
+
+    public void reset() {
+        mSeqLen = 0;
+        mMessageLength = 0;
+        mChecksum = 0;
+        mFragmentLength = 0;
+        mReceivedSeqNums.clear();
+        mSimpleFragments.clear();
+        mMixedParts.clear();
+        mResult = null;
+        mFailed = false;
+    }
+
+    // A new sequence on screen (different checksum) restarts collection instead of mixing two payloads
+    private boolean acceptHeader(@NonNull final MultipartQrPart part) {
+        if (mSeqLen != 0 && part.getChecksum() != mChecksum) {
+            reset();
+        }
+        if (mSeqLen == 0) {
+            final int fragmentLength = (part.getMessageLength() + part.getSeqLen() - 1) / part.getSeqLen();
+            if (part.getSeqLen() > MAX_SEQ_LEN || part.getData().length != fragmentLength) {
+                return false;
+            }
+            mSeqLen = part.getSeqLen();
+            mMessageLength = part.getMessageLength();
+            mChecksum = part.getChecksum();
+            mFragmentLength = fragmentLength;
+            return true;
+        }
+        return part.getSeqLen() == mSeqLen && part.getMessageLength() == mMessageLength
+                && part.getData().length == mFragmentLength;
+    }
+
+    // Peeling decoder: known fragments are XORed out of mixed parts until those reduce to single fragments
+    private void addPart(@NonNull final MixedPart newPart) {
+        final Deque<MixedPart> queue = new ArrayDeque<>();
+        queue.add(newPart);
+        while (!queue.isEmpty()) {
+            final MixedPart part = queue.poll();
+            reduceByKnownFragments(part);
+            if (part.indexes.isEmpty()) {
+                continue;
+            }
+            if (part.indexes.size() == 1) {
+                final int index = part.indexes.first();
+                if (mSimpleFragments.containsKey(index)) {
+                    continue;
+                }
+                mSimpleFragments.put(index, part.data);
+                final Iterator<MixedPart> iterator = mMixedParts.iterator();
+                while (iterator.hasNext()) {
+                    final MixedPart mixedPart = iterator.next();
+                    if (mixedPart.indexes.contains(index)) {
+                        iterator.remove();
+                        queue.add(mixedPart);
+                    }
+                }
+            } else {
+                mMixedParts.add(part);
+            }
+        }
+    }
+
+    private void reduceByKnownFragments(@NonNull final MixedPart part) {
+        final Iterator<Integer> iterator = part.indexes.iterator();
+        while (iterator.hasNext()) {
+            final byte[] fragment = mSimpleFragments.get(iterator.next());
+            if (fragment != null) {
+                FountainSequence.xorInto(part.data, fragment);
+                iterator.remove();
+            }
+        }
+    }
+
+    private void assemble() {
+        final byte[] message = new byte[mSeqLen * mFragmentLength];
+        for (int i = 0; i < mSeqLen; i++) {
+            System.arraycopy(mSimpleFragments.get(i), 0, message, i * mFragmentLength, mFragmentLength);
+        }
+        final byte[] trimmed = new byte[mMessageLength];
+        System.arraycopy(message, 0, trimmed, 0, mMessageLength);
+        if (FountainSequence.checksum(trimmed) == mChecksum) {
+            mResult = trimmed;
+        } else {
+            mFailed = true;
+        }
+    }
+
+    private static class MixedPart {
+
+        final TreeSet<Integer> indexes;
+        final byte[] data;
+
+        MixedPart(TreeSet<Integer> indexes, byte[] data) {
+            this.indexes = indexes;
+            this.data = data;
+        }
+
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.pingidentity.sdk.pingonewallet.sample.ui.qr_scanner.multipart;
+
+import androidx.annotation.NonNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+public class MultipartQrEncoder {
+
+    private final int mMessageLength;
+    private final long mChecksum;
+    private final byte[][] mFragments;
+    private int mSeqNum = 0;
+
+    public MultipartQrEncoder(@NonNull final String payload, final int maxFragmentLength) {
+        this(payload.getBytes(StandardCharsets.UTF_8), maxFragmentLength);
+    }
+
+    public MultipartQrEncoder(@NonNull final byte[] message, final int maxFragmentLength) {
+        if (message.length == 0 || maxFragmentLength < 1) {
+            throw new IllegalArgumentException("Message and fragment length must not be empty");
+        }
+        mMessageLength = message.length;
+        mChecksum = FountainSequence.checksum(message);
+        final int fragmentLength = FountainSequence.fragmentLength(message.length, maxFragmentLength);
+        final int fragmentCount = (message.length + fragmentLength - 1) / fragmentLength;
+        mFragments = new byte[fragmentCount][];
+        for (int i = 0; i < fragmentCount; i++) {
+            // The last fragment is zero padded, the decoder trims to the message length
+            final int start = i * fragmentLength;
+            mFragments[i] = Arrays.copyOf(Arrays.copyOfRange(message, start, Math.min(message.length, start + fragmentLength)), fragmentLength);
+        }
+    }
+
+    public int getSeqLen() {
+        return mFragments.length;
+    }
+
+    public boolean isSinglePart() {
+        return mFragments.length == 1;
+    }
+
+    // Parts keep coming forever; a scanner that joins late or misses frames still completes
+    @NonNull
+    public String nextPart() {
+        mSeqNum++;
+        return createPart(mSeqNum).format();
+    }
+
+    @NonNull
+    MultipartQrPart createPart(final int seqNum) {
+        final int[] indexes = FountainSequence.chooseFragments(seqNum, mFragments.length, mChecksum);
+        final byte[] data = new byte[mFragments[0].length];
+        for (int index : indexes) {
+            FountainSequence.xorInto(data, mFragments[index]);
+        }
+        return new MultipartQrPart(seqNum, mFragments.length, mMessageLength, mChecksum, data);
+    }
+
+}
@@ -0,0 +1,128 @@
+package com.pingidentity.sdk.pingonewallet.sample.ui.qr_scanner.multipart;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Locale;
+
+// One frame of an animated QR sequence: P1MQ/<seqNum>-<seqLen>/<messageLength>/<crc32>/<base32 data>
+// Everything is upper case so the frames fit the denser QR alphanumeric mode.
+public final class MultipartQrPart {
+
+    public static final String PREFIX = "P1MQ/";
+
+    private static final String BASE32_ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZ234567";
+
+    private final int seqNum;
+    private final int seqLen;
+    private final int messageLength;
+    private final long checksum;
+    private final byte[] data;
+
+    public MultipartQrPart(int seqNum, int seqLen, int messageLength, long checksum, @NonNull byte[] data) {
+        this.seqNum = seqNum;
+        this.seqLen = seqLen;
+        this.messageLength = messageLength;
+        this.checksum = checksum;
+        this.data = data;
+    }
+
+    public static boolean isPart(@Nullable final String value) {
+        return value != null && value.regionMatches(true, 0, PREFIX, 0, PREFIX.length());
+    }
+
+    @NonNull
+    public static MultipartQrPart parse(@NonNull final String value) {
+        if (!isPart(value)) {
+            throw new IllegalArgumentException("Not a multipart QR frame");
+        }
+        final String[] components = value.substring(PREFIX.length()).split("/", -1);
+        if (components.length != 4) {
+            throw new IllegalArgumentException("Malformed multipart QR frame");
+        }
+        final String[] sequence = components[0].split("-", -1);
+        if (sequence.length != 2) {
+            throw new IllegalArgumentException("Malformed multipart QR sequence");
+        }
+        try {
+            final int seqNum = Integer.parseInt(sequence[0]);
+            final int seqLen = Integer.parseInt(sequence[1]);
+            final int messageLength = Integer.parseInt(components[1]);
+            final long checksum = Long.parseLong(components[2], 16);
+            final byte[] data = base32Decode(components[3]);
+            if (seqNum < 1 || seqLen < 1 || messageLength < 1 || data.length == 0 || checksum > 0xFFFFFFFFL) {
+                throw new IllegalArgumentException("Invalid multipart QR header");
+            }
+            return new MultipartQrPart(seqNum, seqLen, messageLength, checksum, data);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed multipart QR header", e);
+        }
+    }
+
+    @NonNull
+    public String format() {
+        return PREFIX + seqNum + "-" + seqLen + "/" + messageLength + "/"
+                + String.format(Locale.ROOT, "%08X", checksum) + "/" + base32Encode(data);
+    }
+
+    public int getSeqNum() {
+        return seqNum;
+    }
+
+    public int getSeqLen() {
+        return seqLen;
+    }
+
+    public int getMessageLength() {
+        return messageLength;
+    }
+
+    public long getChecksum() {
+        return checksum;
+    }
+
+    public byte[] getData() {
+        return data;
+    }
+
+    @NonNull
+    static String base32Encode(@NonNull final byte[] bytes) {
+        final StringBuilder builder = new StringBuilder((bytes.length * 8 + 4) / 5);
+        int buffer = 0;
+        int bits = 0;
+        for (byte b : bytes) {
+            buffer = (buffer << 8) | (b & 0xFF);
+            bits += 8;
+            while (bits >= 5) {
+                builder.append(BASE32_ALPHABET.charAt((buffer >> (bits - 5)) & 0x1F));
+                bits -= 5;
+            }
+        }
+        if (bits > 0) {
+            builder.append(BASE32_ALPHABET.charAt((buffer << (5 - bits)) & 0x1F));
+        }
+        return builder.toString();
+    }
+
+    @NonNull
+    static byte[] base32Decode(@NonNull final String text) {
+        final byte[] bytes = new byte[text.length() * 5 / 8];
+        int buffer = 0;
+        int bits = 0;
+        int index = 0;
+        for (int i = 0; i < text.length(); i++) {
+            final int value = BASE32_ALPHABET.indexOf(Character.toUpperCase(text.charAt(i)));
+            if (value < 0) {
+                throw new IllegalArgumentException("Invalid base32 character");
+            }
+            buffer = (buffer << 5) | value;
+            bits += 5;
+            if (bits >= 8) {
+                bytes[index++] = (byte) (buffer >> (bits - 8));
+                bits -= 8;
+            }
+        }
+        return bytes;
+    }
+
+}
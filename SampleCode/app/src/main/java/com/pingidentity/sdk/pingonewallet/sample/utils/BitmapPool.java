@@ -0,0 +1,134 @@
+package com.pingidentity.sdk.pingonewallet.sample.utils;
+
+import android.graphics.Bitmap;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class BitmapPool {
+
+    public static final String TAG = BitmapPool.class.getCanonicalName();
+
+    private static final long DEFAULT_MAX_SIZE_BYTES = 16L * 1024 * 1024;
+
+    private static BitmapPool instance;
+
+    private final long mMaxSizeBytes;
+    private long mCurrentSizeBytes;
+
+    private final Map<String, Deque<Bitmap>> mBuckets = new HashMap<>();
+    private final Deque<Bitmap> mEvictionQueue = new ArrayDeque<>();
+
+    private final AtomicLong mAllocations = new AtomicLong();
+    private final AtomicLong mReuses = new AtomicLong();
+    private final AtomicLong mReleases = new AtomicLong();
+    private final AtomicLong mEvictions = new AtomicLong();
+
+    private BitmapPool(long maxSizeBytes) {
+        this.mMaxSizeBytes = maxSizeBytes;
+    }
+
+    public static synchronized BitmapPool getInstance() {
+        if (instance == null) {
+            instance = new BitmapPool(DEFAULT_MAX_SIZE_BYTES);
+        }
+        return instance;
+    }
+
+    @NonNull
+    public Bitmap acquire(int width, int height, @NonNull Bitmap.Config config) {
+        final Bitmap reusable = getReusable(width, height, config);
+        if (reusable != null) {
+            reusable.eraseColor(0);
+            return reusable;
+        }
+        mAllocations.incrementAndGet();
+        return Bitmap.createBitmap(width, height, config);
+    }
+
+    @Nullable
+    public synchronized Bitmap getReusable(int width, int height, @NonNull Bitmap.Config config) {
+        final Deque<Bitmap> bucket = mBuckets.get(getBucketKey(width, height, config));
+        if (bucket == null || bucket.isEmpty()) {
+            return null;
+        }
+        final Bitmap bitmap = bucket.pop();
+        mEvictionQueue.remove(bitmap);
+        mCurrentSizeBytes -= bitmap.getAllocationByteCount();
+        mReuses.incrementAndGet();
+        return bitmap;
+    }
+
+    public synchronized void release(@Nullable Bitmap bitmap) {
+        if (bitmap == null || bitmap.isRecycled() || !bitmap.isMutable() || bitmap.getConfig() == null) {
+            return;
+        }
+        if (bitmap.getAllocationByteCount() > mMaxSizeBytes / 2) {
+            return;
+        }
+        final String key = getBucketKey(bitmap.getWidth(), bitmap.getHeight(), bitmap.getConfig());
+        Deque<Bitmap> bucket = mBuckets.get(key);
+        if (bucket == null) {
+            bucket = new ArrayDeque<>();
+            mBuckets.put(key, bucket);
+        }
+        if (bucket.contains(bitmap)) {
+            return;
+        }
+        bucket.push(bitmap);
+        mEvictionQueue.addLast(bitmap);
+        mCurrentSizeBytes += bitmap.getAllocationByteCount();
+        mReleases.incrementAndGet();
+        trimToSize(mMaxSizeBytes);
+    }
+
+    public synchronized void clear() {
+        trimToSize(0);
+    }
+
+    public long getAllocationCount() {
+        return mAllocations.get();
+    }
+
+    public long getReuseCount() {
+        return mReuses.get();
+    }
+
+    public long getReleaseCount() {
+        return mReleases.get();
+    }
+
+    public long getEvictionCount() {
+        return mEvictions.get();
+    }
+
+    public synchronized void logStats() {
+        Log.i(TAG, String.format("Bitmap pool: allocations=%d, reuses=%d, releases=%d, evictions=%d, pooled=%d bytes",
+                mAllocations.get(), mReuses.get(), mReleases.get(), mEvictions.get(), mCurrentSizeBytes));
+    }
+
+    private void trimToSize(long maxSizeBytes) {
+        while (mCurrentSizeBytes > maxSizeBytes && !mEvictionQueue.isEmpty()) {
+            final Bitmap evicted = mEvictionQueue.pollFirst();
+            final Deque<Bitmap> bucket = mBuckets.get(getBucketKey(evicted.getWidth(), evicted.getHeight(), evicted.getConfig()));
+            if (bucket != null) {
+                bucket.remove(evicted);
+            }
+            mCurrentSizeBytes -= evicted.getAllocationByteCount();
+            mEvictions.incrementAndGet();
+            evicted.recycle();
+        }
+    }
+
+    private static String getBucketKey(int width, int height, @NonNull Bitmap.Config config) {
+        return width + "x" + height + "_" + config.name();
+    }
+
+}
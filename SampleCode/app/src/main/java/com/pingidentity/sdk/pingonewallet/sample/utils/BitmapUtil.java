@@ -8,6 +8,7 @@ import android.util.Base64;
 import android.util.Log;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import com.caverock.androidsvg.SVG;
 import com.pingidentity.did.sdk.types.Claim;
@@ -16,12 +17,20 @@ import java.io.ByteArrayOutputStream;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
 public class BitmapUtil {
 
+    public static final String TAG = BitmapUtil.class.getCanonicalName();
+
     private static final List<String> imageKeys = Arrays.asList("selfie", "cardimage", "frontimage", "backimage");
 
+    private static final ThreadLocal<Canvas> svgCanvas = new ThreadLocal<Canvas>() {
+        @Override
+        protected Canvas initialValue() {
+            return new Canvas();
+        }
+    };
+
     private BitmapUtil() {
         throw new IllegalStateException("Utility class");
     }
@@ -30,46 +39,110 @@ public class BitmapUtil {
         return imageKeys;
     }
 
+    public static boolean isSvg(@NonNull final String image) {
+        final String trimmed = image.trim();
+        return trimmed.startsWith("<");
+    }
+
     public static Bitmap convertSvgToBitmap(@NonNull final String svgString, final int imageWidth) {
+        if (!isSvg(svgString)) {
+            return null;
+        }
         try {
-            SVG svg = SVG.getFromString(svgString.replace("image xlink:href", "image href"));
-            float svgAspectRatio = svg.getDocumentAspectRatio();
-            int bitmapWidth = imageWidth == -1 ? 720 : imageWidth;
-            int bitmapHeight = (int) (bitmapWidth / svgAspectRatio);
-            Bitmap svgBitmap = Bitmap.createBitmap(bitmapWidth, bitmapHeight, Bitmap.Config.ARGB_8888);
-            Canvas svgCanvas = new Canvas(svgBitmap);
-            svgCanvas.drawRGB(255, 255, 255);
-            svg.renderToCanvas(svgCanvas);
-            return svgBitmap;
+            return renderSvg(SvgDocumentCache.getInstance().getDocument(svgString), imageWidth);
         } catch (Exception e) {
-            Log.e("TAG", "Failed to parse svg from String", e);
+            Log.e(TAG, "Failed to parse svg from String", e);
             return null;
         }
     }
 
+    // The document must not be rendered on another thread at the same time, see SvgDocumentCache
+    @NonNull
+    public static Bitmap renderSvg(@NonNull final SVG svg, final int imageWidth) {
+        float svgAspectRatio = svg.getDocumentAspectRatio();
+        int bitmapWidth = imageWidth == -1 ? 720 : imageWidth;
+        int bitmapHeight = (int) (bitmapWidth / svgAspectRatio);
+        Bitmap svgBitmap = BitmapPool.getInstance().acquire(bitmapWidth, bitmapHeight, Bitmap.Config.ARGB_8888);
+        Canvas canvas = svgCanvas.get();
+        canvas.setBitmap(svgBitmap);
+        canvas.drawRGB(255, 255, 255);
+        svg.renderToCanvas(canvas);
+        canvas.setBitmap(null);
+        return svgBitmap;
+    }
+
     public static String bitmapToBase64(Bitmap bitmap) {
+        return bitmapToBase64(bitmap, 100);
+    }
+
+    public static String bitmapToBase64(Bitmap bitmap, int quality) {
         ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        bitmap.compress(Bitmap.CompressFormat.JPEG, 100, outputStream);
+        bitmap.compress(Bitmap.CompressFormat.JPEG, quality, outputStream);
         return Base64.encodeToString(outputStream.toByteArray(), Base64.DEFAULT);
     }
 
-    public static Bitmap getBitmapFromClaim(Claim claim) {
-        Optional<String> base64Image = claim.getData().entrySet().stream()
+    @Nullable
+    public static Bitmap base64ToBitmap(@Nullable final String base64Image) {
+        if (base64Image == null || base64Image.isEmpty()) {
+            return null;
+        }
+        final byte[] decodedImage = Base64.decode(base64Image, Base64.DEFAULT);
+        return BitmapFactory.decodeByteArray(decodedImage, 0, decodedImage.length);
+    }
+
+    @Nullable
+    public static String getImageFromClaim(@NonNull final Claim claim) {
+        return claim.getData().entrySet().stream()
                 .filter(entry -> BitmapUtil.imageKeys.contains(entry.getKey().toLowerCase()) && !entry.getValue().isEmpty())
                 .findFirst()
-                .map(Map.Entry::getValue);
+                .map(Map.Entry::getValue)
+                .orElse(null);
+    }
 
-        if (!base64Image.isPresent()) {
+    public static Bitmap getBitmapFromClaim(Claim claim) {
+        final String image = getImageFromClaim(claim);
+        if (image == null) {
             return null;
         }
+        return getCardBitmap(image);
+    }
 
-        final Bitmap svgImage = BitmapUtil.convertSvgToBitmap(base64Image.get(), 500);
+    public static Bitmap getCardBitmap(@NonNull final String image) {
+        final Bitmap svgImage = BitmapUtil.convertSvgToBitmap(image, 500);
         if (svgImage != null) {
             return svgImage;
         }
+        return base64ToBitmap(image);
+    }
 
-        final byte[] decodedImage = Base64.decode(base64Image.get(), Base64.DEFAULT);
-        return BitmapFactory.decodeByteArray(decodedImage, 0, decodedImage.length);
+    @Nullable
+    public static Bitmap getBitmapFromImage(@NonNull final String image, final int imageWidth) {
+        final Bitmap svgImage = BitmapUtil.convertSvgToBitmap(image, imageWidth);
+        if (svgImage != null) {
+            return svgImage;
+        }
+
+        final byte[] decodedImage = Base64.decode(image, Base64.DEFAULT);
+        final BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inSampleSize = 1;
+        if (imageWidth > 0) {
+            options.inJustDecodeBounds = true;
+            BitmapFactory.decodeByteArray(decodedImage, 0, decodedImage.length, options);
+            while (options.outWidth / (options.inSampleSize * 2) >= imageWidth) {
+                options.inSampleSize *= 2;
+            }
+            options.inJustDecodeBounds = false;
+        }
+        return BitmapFactory.decodeByteArray(decodedImage, 0, decodedImage.length, options);
+    }
+
+    @NonNull
+    public static Bitmap scaleToWidth(@NonNull final Bitmap bitmap, final int width) {
+        if (bitmap.getWidth() <= width) {
+            return bitmap;
+        }
+        final int height = Math.max(1, Math.round(bitmap.getHeight() * (width / (float) bitmap.getWidth())));
+        return Bitmap.createScaledBitmap(bitmap, width, height, true);
     }
 
 }
@@ -0,0 +1,77 @@
+package com.pingidentity.sdk.pingonewallet.sample.utils;
+
+import android.graphics.Bitmap;
+import android.util.Log;
+import android.util.LruCache;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.pingidentity.sdk.pingonewallet.sample.models.CredentialCardModel;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class CardImageCache {
+
+    public static final String TAG = CardImageCache.class.getCanonicalName();
+
+    private static final int MAX_BUDGET_BYTES = 24 * 1024 * 1024;
+
+    private static CardImageCache instance;
+
+    private final LruCache<String, Bitmap> mImages;
+
+    private final AtomicLong mHits = new AtomicLong();
+    private final AtomicLong mMisses = new AtomicLong();
+
+    private CardImageCache(final int budgetBytes) {
+        mImages = new LruCache<String, Bitmap>(budgetBytes) {
+            @Override
+            protected int sizeOf(String key, Bitmap value) {
+                return value.getAllocationByteCount();
+            }
+        };
+    }
+
+    public static synchronized CardImageCache getInstance() {
+        if (instance == null) {
+            final long memoryBudget = Runtime.getRuntime().maxMemory() / 8;
+            instance = new CardImageCache((int) Math.min(MAX_BUDGET_BYTES, memoryBudget));
+        }
+        return instance;
+    }
+
+    @Nullable
+    public Bitmap get(@NonNull final CredentialCardModel cardModel) {
+        final Bitmap image = mImages.get(getKey(cardModel));
+        if (image != null) {
+            mHits.incrementAndGet();
+        } else {
+            mMisses.incrementAndGet();
+        }
+        return image;
+    }
+
+    public boolean contains(@NonNull final CredentialCardModel cardModel) {
+        return mImages.get(getKey(cardModel)) != null;
+    }
+
+    public void put(@NonNull final CredentialCardModel cardModel, @NonNull final Bitmap image) {
+        mImages.put(getKey(cardModel), image);
+    }
+
+    // Images handed out by this cache may still be on screen, so they are never returned to the BitmapPool
+    public void clear() {
+        mImages.evictAll();
+    }
+
+    public void logStats() {
+        Log.i(TAG, String.format("Card image cache: hits=%d, misses=%d, bytes=%d/%d",
+                mHits.get(), mMisses.get(), mImages.size(), mImages.maxSize()));
+    }
+
+    private static String getKey(@NonNull final CredentialCardModel cardModel) {
+        return cardModel.getClaimId() + "_" + cardModel.getVersion();
+    }
+
+}
@@ -0,0 +1,141 @@
+package com.pingidentity.sdk.pingonewallet.sample.utils;
+
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class PerformanceMetrics {
+
+    public static final String TAG = PerformanceMetrics.class.getCanonicalName();
+
+    private static final int MAX_SAMPLES = 128;
+
+    private static PerformanceMetrics instance;
+
+    private final Map<String, AtomicLong> mCounters = new ConcurrentHashMap<>();
+    private final Map<String, DurationSamples> mDurations = new ConcurrentHashMap<>();
+    private final Map<String, Long> mMarks = new ConcurrentHashMap<>();
+
+    private PerformanceMetrics() {
+    }
+
+    public static synchronized PerformanceMetrics getInstance() {
+        if (instance == null) {
+            instance = new PerformanceMetrics();
+        }
+        return instance;
+    }
+
+    public void increment(@NonNull final String name) {
+        increment(name, 1);
+    }
+
+    public void increment(@NonNull final String name, final long delta) {
+        mCounters.computeIfAbsent(name, key -> new AtomicLong()).addAndGet(delta);
+    }
+
+    public long getCount(@NonNull final String name) {
+        final AtomicLong counter = mCounters.get(name);
+        return counter == null ? 0 : counter.get();
+    }
+
+    // Counters whose name starts with the prefix, for exporting one feature's metrics at a time
+    @NonNull
+    public Map<String, Long> snapshotCounters(@NonNull final String prefix) {
+        final Map<String, Long> snapshot = new TreeMap<>();
+        for (Map.Entry<String, AtomicLong> counter : mCounters.entrySet()) {
+            if (counter.getKey().startsWith(prefix)) {
+                snapshot.put(counter.getKey(), counter.getValue().get());
+            }
+        }
+        return snapshot;
+    }
+
+    public void recordDuration(@NonNull final String name, final long durationMillis) {
+        recordValue(name, durationMillis);
+    }
+
+    // Same percentiles as durations, for sizes and other non-time samples
+    public void recordValue(@NonNull final String name, final long value) {
+        mDurations.computeIfAbsent(name, key -> new DurationSamples()).add(value);
+    }
+
+    // For spans that start and end in different components, e.g. a QR decode and the request it triggers
+    public void markStart(@NonNull final String name) {
+        mMarks.put(name, SystemClock.elapsedRealtime());
+    }
+
+    public void markEnd(@NonNull final String name) {
+        final Long startMillis = mMarks.remove(name);
+        if (startMillis != null) {
+            recordDuration(name, SystemClock.elapsedRealtime() - startMillis);
+            logDuration(name);
+        }
+    }
+
+    public long getMedian(@NonNull final String name) {
+        return getPercentile(name, 50);
+    }
+
+    public long getPercentile(@NonNull final String name, final int percentile) {
+        final DurationSamples samples = mDurations.get(name);
+        return samples == null ? 0 : samples.percentile(percentile);
+    }
+
+    public long getSampleCount(@NonNull final String name) {
+        final DurationSamples samples = mDurations.get(name);
+        return samples == null ? 0 : samples.count();
+    }
+
+    public void logDuration(@NonNull final String name) {
+        Log.i(TAG, String.format("%s: count=%d, p50=%dms, p90=%dms",
+                name, getSampleCount(name), getPercentile(name, 50), getPercentile(name, 90)));
+    }
+
+    public void logCounters(@NonNull final String... names) {
+        final StringBuilder builder = new StringBuilder();
+        for (String name : names) {
+            if (builder.length() > 0) {
+                builder.append(", ");
+            }
+            builder.append(name).append('=').append(getCount(name));
+        }
+        Log.i(TAG, builder.toString());
+    }
+
+    // Keeps the most recent samples only, so percentiles follow the current conditions
+    private static class DurationSamples {
+
+        private final long[] samples = new long[MAX_SAMPLES];
+        private long total = 0;
+
+        synchronized void add(final long value) {
+            samples[(int) (total % MAX_SAMPLES)] = value;
+            total++;
+        }
+
+        synchronized long count() {
+            return total;
+        }
+
+        synchronized long percentile(final int percentile) {
+            final int size = (int) Math.min(total, MAX_SAMPLES);
+            if (size == 0) {
+                return 0;
+            }
+            final long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            final int index = Math.min(size - 1, Math.max(0, (int) Math.ceil(percentile / 100.0 * size) - 1));
+            return sorted[index];
+        }
+
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.pingidentity.sdk.pingonewallet.sample.utils;
+
+import android.util.Log;
+import android.util.LruCache;
+
+import androidx.annotation.NonNull;
+
+import com.caverock.androidsvg.SVG;
+import com.caverock.androidsvg.SVGParseException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// An SVG document keeps render state while it is drawn, so each rendering thread parses and keeps its own copy
+// and parallel thumbnail renders never wait on each other. Entries of finished threads are dropped with the thread.
+public class SvgDocumentCache {
+
+    public static final String TAG = SvgDocumentCache.class.getCanonicalName();
+
+    private static final int MAX_DOCUMENTS_PER_THREAD = 8;
+
+    private static SvgDocumentCache instance;
+
+    private final Map<Thread, LruCache<String, SVG>> mDocuments = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final AtomicLong mHits = new AtomicLong();
+    private final AtomicLong mMisses = new AtomicLong();
+
+    private SvgDocumentCache() {
+    }
+
+    public static synchronized SvgDocumentCache getInstance() {
+        if (instance == null) {
+            instance = new SvgDocumentCache();
+        }
+        return instance;
+    }
+
+    @NonNull
+    public SVG getDocument(@NonNull final String svgString) throws SVGParseException {
+        final LruCache<String, SVG> documents = mDocuments.computeIfAbsent(Thread.currentThread(),
+                thread -> new LruCache<>(MAX_DOCUMENTS_PER_THREAD));
+        final String key = hash(svgString);
+        final SVG cached = documents.get(key);
+        if (cached != null) {
+            mHits.incrementAndGet();
+            return cached;
+        }
+        mMisses.incrementAndGet();
+        final SVG svg = SVG.getFromString(svgString.replace("image xlink:href", "image href"));
+        documents.put(key, svg);
+        return svg;
+    }
+
+    public void clear() {
+        mDocuments.clear();
+    }
+
+    public long getHitCount() {
+        return mHits.get();
+    }
+
+    public long getMissCount() {
+        return mMisses.get();
+    }
+
+    public void logStats() {
+        Log.i(TAG, String.format("SVG document cache: hits=%d, misses=%d, threads=%d", mHits.get(), mMisses.get(), mDocuments.size()));
+    }
+
+    private static String hash(@NonNull final String svgString) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(svgString.getBytes(StandardCharsets.UTF_8));
+            final StringBuilder builder = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                builder.append(String.format("%02x", b));
+            }
+            return builder.toString();
+        } catch (NoSuchAlgorithmException e) {
+            Log.e(TAG, "SHA-256 not available, falling back to hashCode", e);
+            return svgString.length() + "_" + svgString.hashCode();
+        }
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.pingidentity.sdk.pingonewallet.sample.utils;
+
+import android.graphics.Bitmap;
+import android.util.Log;
+import android.util.LruCache;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.pingidentity.sdk.pingonewallet.sample.models.ThumbnailSize;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Decoded thumbnails keyed by claim id and size, so rebinding a card while scrolling does not decrypt and decode again
+public class ThumbnailCache {
+
+    public static final String TAG = ThumbnailCache.class.getCanonicalName();
+
+    private static final int MAX_BUDGET_BYTES = 8 * 1024 * 1024;
+
+    private static ThumbnailCache instance;
+
+    private final LruCache<String, Bitmap> mThumbnails;
+
+    private final AtomicLong mHits = new AtomicLong();
+    private final AtomicLong mMisses = new AtomicLong();
+
+    private ThumbnailCache(final int budgetBytes) {
+        mThumbnails = new LruCache<String, Bitmap>(budgetBytes) {
+            @Override
+            protected int sizeOf(String key, Bitmap value) {
+                return value.getAllocationByteCount();
+            }
+        };
+    }
+
+    public static synchronized ThumbnailCache getInstance() {
+        if (instance == null) {
+            final long memoryBudget = Runtime.getRuntime().maxMemory() / 16;
+            instance = new ThumbnailCache((int) Math.min(MAX_BUDGET_BYTES, memoryBudget));
+        }
+        return instance;
+    }
+
+    @Nullable
+    public Bitmap get(@NonNull final String claimId, @NonNull final ThumbnailSize size) {
+        final Bitmap thumbnail = mThumbnails.get(getKey(claimId, size));
+        if (thumbnail != null) {
+            mHits.incrementAndGet();
+        } else {
+            mMisses.incrementAndGet();
+        }
+        return thumbnail;
+    }
+
+    public void put(@NonNull final String claimId, @NonNull final ThumbnailSize size, @NonNull final Bitmap thumbnail) {
+        mThumbnails.put(getKey(claimId, size), thumbnail);
+    }
+
+    public void remove(@NonNull final String claimId) {
+        for (ThumbnailSize size : ThumbnailSize.values()) {
+            mThumbnails.remove(getKey(claimId, size));
+        }
+    }
+
+    // Thumbnails handed out by this cache may still be on screen, so they are never returned to the BitmapPool
+    public void clear() {
+        mThumbnails.evictAll();
+    }
+
+    public void logStats() {
+        Log.i(TAG, String.format("Thumbnail cache: hits=%d, misses=%d, bytes=%d/%d",
+                mHits.get(), mMisses.get(), mThumbnails.size(), mThumbnails.maxSize()));
+    }
+
+    private static String getKey(@NonNull final String claimId, @NonNull final ThumbnailSize size) {
+        return claimId + "_" + size.getKey();
+    }
+
+}
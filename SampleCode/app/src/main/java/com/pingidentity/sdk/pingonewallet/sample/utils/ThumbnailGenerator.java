@@ -0,0 +1,117 @@
+package com.pingidentity.sdk.pingonewallet.sample.utils;
+
+import android.graphics.Bitmap;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.util.Pair;
+
+import com.caverock.androidsvg.SVGParseException;
+import com.pingidentity.did.sdk.types.Claim;
+import com.pingidentity.sdk.pingonewallet.sample.models.CredentialSummary;
+import com.pingidentity.sdk.pingonewallet.sample.models.ThumbnailSize;
+import com.pingidentity.sdk.pingonewallet.sample.storage.data_repository.DataRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import io.reactivex.rxjava3.core.Observable;
+import io.reactivex.rxjava3.core.Single;
+import io.reactivex.rxjava3.schedulers.Schedulers;
+
+public class ThumbnailGenerator {
+
+    public static final String TAG = ThumbnailGenerator.class.getCanonicalName();
+
+    private final DataRepository mDataRepository;
+
+    public ThumbnailGenerator(DataRepository dataRepository) {
+        this.mDataRepository = dataRepository;
+    }
+
+    public void generateThumbnails(@NonNull final Claim claim) {
+        generateThumbnails(Collections.singletonList(claim));
+    }
+
+    // Claims are rendered in parallel, then stored together so the list is refreshed once
+    @SuppressWarnings("ResultOfMethodCallIgnored")
+    public void generateThumbnails(@NonNull final Collection<Claim> claims) {
+        if (claims.isEmpty()) {
+            return;
+        }
+        Observable.fromIterable(new ArrayList<>(claims))
+                .flatMapSingle(claim -> Single.fromCallable(() -> Pair.create(claim.getId().toString(), createThumbnails(claim)))
+                        .subscribeOn(Schedulers.computation())
+                        .onErrorReturn(throwable -> {
+                            Log.e(TAG, String.format("Failed to generate thumbnails for claim %s", claim.getId()), throwable);
+                            return Pair.create(claim.getId().toString(), Collections.<ThumbnailSize, Bitmap>emptyMap());
+                        }))
+                .toMap(pair -> pair.first, pair -> pair.second)
+                .subscribe(thumbnailsByClaimId -> {
+                            mDataRepository.saveThumbnails(thumbnailsByClaimId);
+                            for (Map<ThumbnailSize, Bitmap> thumbnails : thumbnailsByClaimId.values()) {
+                                for (Bitmap thumbnail : thumbnails.values()) {
+                                    BitmapPool.getInstance().release(thumbnail);
+                                }
+                            }
+                            Log.i(TAG, String.format("Thumbnails generated for %d claims", thumbnailsByClaimId.size()));
+                        },
+                        throwable -> Log.e(TAG, "Failed to store thumbnails", throwable));
+    }
+
+    public void generateMissingThumbnails(@NonNull final List<CredentialSummary> summaries) {
+        final List<Claim> claims = new ArrayList<>();
+        for (CredentialSummary summary : summaries) {
+            if (!mDataRepository.hasThumbnails(summary.getClaimId())) {
+                final Claim claim = mDataRepository.getClaim(summary.getClaimId());
+                if (claim != null) {
+                    claims.add(claim);
+                }
+            }
+        }
+        generateThumbnails(claims);
+    }
+
+    @NonNull
+    public static Map<ThumbnailSize, Bitmap> createThumbnails(@NonNull final Claim claim) {
+        final Map<ThumbnailSize, Bitmap> thumbnails = new EnumMap<>(ThumbnailSize.class);
+        final String image = BitmapUtil.getImageFromClaim(claim);
+        if (image == null) {
+            return thumbnails;
+        }
+        for (ThumbnailSize size : ThumbnailSize.values()) {
+            final Bitmap thumbnail = createThumbnail(image, size);
+            if (thumbnail != null) {
+                thumbnails.put(size, thumbnail);
+            }
+        }
+        return thumbnails;
+    }
+
+    @Nullable
+    private static Bitmap createThumbnail(@NonNull final String image, @NonNull final ThumbnailSize size) {
+        if (BitmapUtil.isSvg(image)) {
+            try {
+                return BitmapUtil.renderSvg(SvgDocumentCache.getInstance().getDocument(image), size.getWidth());
+            } catch (SVGParseException e) {
+                Log.e(TAG, "Failed to parse svg card image", e);
+                return null;
+            }
+        }
+        final Bitmap bitmap = BitmapUtil.getBitmapFromImage(image, size.getWidth());
+        if (bitmap == null) {
+            return null;
+        }
+        final Bitmap thumbnail = BitmapUtil.scaleToWidth(bitmap, size.getWidth());
+        if (thumbnail != bitmap) {
+            BitmapPool.getInstance().release(bitmap);
+        }
+        return thumbnail;
+    }
+
+}
@@ -0,0 +1,198 @@
+package com.pingidentity.sdk.pingonewallet.sample.ui.qr_scanner.decoder;
+
+import com.google.zxing.BarcodeFormat;
+import com.google.zxing.EncodeHintType;
+import com.google.zxing.WriterException;
+import com.google.zxing.common.BitMatrix;
+import com.google.zxing.qrcode.QRCodeWriter;
+import com.google.zxing.qrcode.decoder.ErrorCorrectionLevel;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+// Wallet QR fixtures rendered as camera-like luminance planes. They are generated rather than
+// checked in as images so each distortion stays readable and tunable next to the code.
+public final class QrFixtures {
+
+    public static final String SHORT_REQUEST =
+            "openid-vc://?request_uri=https://api.pingone.com/v1/distributedid/requests/2b6e1c0e-6a0f-4a8e-9f5e-3c1d7b2f9a41";
+
+    public static final String DENSE_REQUEST = buildDenseRequest();
+
+    private static final int BLACK = 20;
+    private static final int WHITE = 235;
+
+    private QrFixtures() {
+    }
+
+    public static List<Fixture> all() {
+        final List<Fixture> fixtures = new ArrayList<>();
+        fixtures.add(new Fixture("clean", SHORT_REQUEST, frame(SHORT_REQUEST, 640, 480, 5, BLACK, WHITE)));
+        fixtures.add(new Fixture("sensor_rotated_90", SHORT_REQUEST, rotate90(frame(SHORT_REQUEST, 640, 480, 5, BLACK, WHITE))));
+        fixtures.add(new Fixture("tilted_10deg", SHORT_REQUEST, tilt(frame(SHORT_REQUEST, 640, 480, 5, BLACK, WHITE), 10)));
+        fixtures.add(new Fixture("blurred", SHORT_REQUEST, blur(frame(SHORT_REQUEST, 640, 480, 6, BLACK, WHITE), 1)));
+        fixtures.add(new Fixture("low_contrast", SHORT_REQUEST, frame(SHORT_REQUEST, 640, 480, 5, 96, 160)));
+        fixtures.add(new Fixture("noisy", SHORT_REQUEST, noise(frame(SHORT_REQUEST, 640, 480, 5, BLACK, WHITE), 12, 42)));
+        fixtures.add(new Fixture("dense_openid_vc", DENSE_REQUEST, frame(DENSE_REQUEST, 800, 600, 4, BLACK, WHITE)));
+        fixtures.add(new Fixture("dense_blurred_low_contrast", DENSE_REQUEST,
+                blur(frame(DENSE_REQUEST, 800, 600, 4, 80, 176), 1)));
+        return fixtures;
+    }
+
+    public static LuminanceFrame frame(String contents, int width, int height, int moduleSize, int dark, int light) {
+        final BitMatrix matrix = encode(contents);
+        final int codeSize = matrix.getWidth() * moduleSize;
+        final int offsetX = (width - codeSize) / 2;
+        final int offsetY = (height - codeSize) / 2;
+        if (offsetX < 0 || offsetY < 0) {
+            throw new IllegalArgumentException("QR code does not fit in " + width + "x" + height);
+        }
+        final byte[] luma = new byte[width * height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                final int codeX = x - offsetX;
+                final int codeY = y - offsetY;
+                final boolean inCode = codeX >= 0 && codeY >= 0 && codeX < codeSize && codeY < codeSize;
+                final boolean black = inCode && matrix.get(codeX / moduleSize, codeY / moduleSize);
+                luma[y * width + x] = (byte) (black ? dark : light);
+            }
+        }
+        return new LuminanceFrame(luma, width, height, 0);
+    }
+
+    // Transposes the plane the way a portrait phone sensor does, so the decoder has to map bounds back
+    public static LuminanceFrame rotate90(LuminanceFrame frame) {
+        final int width = frame.getWidth();
+        final int height = frame.getHeight();
+        final byte[] source = frame.getData();
+        final byte[] rotated = new byte[width * height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                final int rotatedX = y;
+                final int rotatedY = width - 1 - x;
+                rotated[rotatedY * height + rotatedX] = source[y * width + x];
+            }
+        }
+        return new LuminanceFrame(rotated, height, width, 90);
+    }
+
+    public static LuminanceFrame tilt(LuminanceFrame frame, double degrees) {
+        final int width = frame.getWidth();
+        final int height = frame.getHeight();
+        final byte[] source = frame.getData();
+        final byte[] tilted = new byte[width * height];
+        final double radians = Math.toRadians(degrees);
+        final double cos = Math.cos(radians);
+        final double sin = Math.sin(radians);
+        final double centerX = width / 2.0;
+        final double centerY = height / 2.0;
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                final double sourceX = cos * (x - centerX) + sin * (y - centerY) + centerX;
+                final double sourceY = -sin * (x - centerX) + cos * (y - centerY) + centerY;
+                tilted[y * width + x] = (byte) sample(source, width, height, sourceX, sourceY);
+            }
+        }
+        return new LuminanceFrame(tilted, width, height, frame.getRotationDegrees());
+    }
+
+    public static LuminanceFrame blur(LuminanceFrame frame, int radius) {
+        final int width = frame.getWidth();
+        final int height = frame.getHeight();
+        final byte[] source = frame.getData();
+        final byte[] blurred = new byte[width * height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int sum = 0;
+                int count = 0;
+                for (int dy = -radius; dy <= radius; dy++) {
+                    for (int dx = -radius; dx <= radius; dx++) {
+                        final int sampleX = Math.min(width - 1, Math.max(0, x + dx));
+                        final int sampleY = Math.min(height - 1, Math.max(0, y + dy));
+                        sum += source[sampleY * width + sampleX] & 0xFF;
+                        count++;
+                    }
+                }
+                blurred[y * width + x] = (byte) (sum / count);
+            }
+        }
+        return new LuminanceFrame(blurred, width, height, frame.getRotationDegrees());
+    }
+
+    public static LuminanceFrame noise(LuminanceFrame frame, double sigma, long seed) {
+        final Random random = new Random(seed);
+        final byte[] source = frame.getData();
+        final byte[] noisy = new byte[source.length];
+        for (int i = 0; i < source.length; i++) {
+            final int value = (int) Math.round((source[i] & 0xFF) + random.nextGaussian() * sigma);
+            noisy[i] = (byte) Math.min(255, Math.max(0, value));
+        }
+        return new LuminanceFrame(noisy, frame.getWidth(), frame.getHeight(), frame.getRotationDegrees());
+    }
+
+    private static int sample(byte[] source, int width, int height, double x, double y) {
+        final int x0 = (int) Math.floor(x);
+        final int y0 = (int) Math.floor(y);
+        final double fx = x - x0;
+        final double fy = y - y0;
+        final double top = pixel(source, width, height, x0, y0) * (1 - fx) + pixel(source, width, height, x0 + 1, y0) * fx;
+        final double bottom = pixel(source, width, height, x0, y0 + 1) * (1 - fx) + pixel(source, width, height, x0 + 1, y0 + 1) * fx;
+        return (int) Math.round(top * (1 - fy) + bottom * fy);
+    }
+
+    private static int pixel(byte[] source, int width, int height, int x, int y) {
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            return WHITE;
+        }
+        return source[y * width + x] & 0xFF;
+    }
+
+    private static BitMatrix encode(String contents) {
+        final Map<EncodeHintType, Object> hints = new EnumMap<>(EncodeHintType.class);
+        hints.put(EncodeHintType.ERROR_CORRECTION, ErrorCorrectionLevel.M);
+        hints.put(EncodeHintType.MARGIN, 4);
+        try {
+            // Size 0 keeps one pixel per module, scaling is done when the frame is rendered
+            return new QRCodeWriter().encode(contents, BarcodeFormat.QR_CODE, 0, 0, hints);
+        } catch (WriterException e) {
+            throw new IllegalStateException("Failed to encode fixture", e);
+        }
+    }
+
+    private static String buildDenseRequest() {
+        final StringBuilder builder = new StringBuilder("openid-vc://?client_id=https%3A%2F%2Fapi.pingone.com"
+                + "&response_type=vp_token&response_mode=direct_post&nonce=");
+        final Random random = new Random(7);
+        for (int i = 0; i < 32; i++) {
+            builder.append(Integer.toHexString(random.nextInt(16)));
+        }
+        builder.append("&presentation_definition=%7B%22id%22%3A%22wallet-request%22%2C%22input_descriptors%22%3A%5B");
+        for (int i = 0; i < 6; i++) {
+            builder.append("%7B%22id%22%3A%22descriptor-").append(i)
+                    .append("%22%2C%22constraints%22%3A%7B%22fields%22%3A%5B%7B%22path%22%3A%5B%22%24.CardType%22%5D%7D%5D%7D%7D");
+            if (i < 5) {
+                builder.append("%2C");
+            }
+        }
+        builder.append("%5D%7D");
+        return builder.toString();
+    }
+
+    public static class Fixture {
+
+        public final String name;
+        public final String expectedText;
+        public final LuminanceFrame frame;
+
+        Fixture(String name, String expectedText, LuminanceFrame frame) {
+            this.name = name;
+            this.expectedText = expectedText;
+            this.frame = frame;
+        }
+
+    }
+
+}
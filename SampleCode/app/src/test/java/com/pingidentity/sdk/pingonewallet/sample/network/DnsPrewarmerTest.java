@@ -0,0 +1,50 @@
+package com.pingidentity.sdk.pingonewallet.sample.network;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import okhttp3.Dns;
+
+public class DnsPrewarmerTest {
+
+    private final List<String> mLookups = new ArrayList<>();
+
+    @Test
+    public void eachHostIsResolvedOnceWithinTheInterval() {
+        final DnsPrewarmer prewarmer = new DnsPrewarmer(recordingDns(false), Runnable::run);
+
+        prewarmer.prewarm(Arrays.asList("api.pingone.com", "issuer.example.com"));
+        prewarmer.prewarm(Collections.singletonList("api.pingone.com"));
+
+        assertEquals(Arrays.asList("api.pingone.com", "issuer.example.com"), mLookups);
+    }
+
+    @Test
+    public void failedLookupIsRetriedOnTheNextPrewarm() {
+        final DnsPrewarmer prewarmer = new DnsPrewarmer(recordingDns(true), Runnable::run);
+
+        prewarmer.prewarm(Collections.singletonList("offline.example.com"));
+        prewarmer.prewarm(Collections.singletonList("offline.example.com"));
+
+        assertEquals(2, mLookups.size());
+    }
+
+    private Dns recordingDns(final boolean fail) {
+        return hostname -> {
+            mLookups.add(hostname);
+            if (fail) {
+                throw new UnknownHostException(hostname);
+            }
+            return Collections.singletonList(InetAddress.getLoopbackAddress());
+        };
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.pingidentity.sdk.pingonewallet.sample.ui.qr_scanner.decoder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import androidx.annotation.NonNull;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class FallbackQrDecoderTest {
+
+    private static final LuminanceFrame FRAME = new LuminanceFrame(new byte[4], 2, 2, 0);
+
+    private static final QrDecoder.Callback IGNORED = new QrDecoder.Callback() {
+        @Override
+        public void onDecoded(@NonNull List<QrResult> results) {
+        }
+
+        @Override
+        public void onError(@NonNull Exception e) {
+        }
+    };
+
+    @Test
+    public void singleFailureOnlyFallsBackForThatFrame() {
+        final FakeDecoder primary = new FakeDecoder("primary", true);
+        final FakeDecoder fallback = new FakeDecoder("fallback", false);
+        final FallbackQrDecoder decoder = new FallbackQrDecoder(primary, fallback, Runnable::run);
+
+        decoder.decode(FRAME, IGNORED);
+        primary.mFail = false;
+        decoder.decode(FRAME, IGNORED);
+
+        assertEquals(2, primary.mCalls);
+        assertEquals(1, fallback.mCalls);
+        assertFalse(decoder.isUsingFallback());
+    }
+
+    @Test
+    public void consecutiveFailuresMoveFramesToTheFallback() {
+        final FakeDecoder primary = new FakeDecoder("primary", true);
+        final FakeDecoder fallback = new FakeDecoder("fallback", false);
+        final FallbackQrDecoder decoder = new FallbackQrDecoder(primary, fallback, Runnable::run);
+
+        for (int i = 0; i < 6; i++) {
+            decoder.decode(FRAME, IGNORED);
+        }
+
+        assertTrue(decoder.isUsingFallback());
+        assertEquals(5, primary.mCalls);
+        assertEquals(6, fallback.mCalls);
+        assertEquals("fallback", decoder.getName());
+    }
+
+    @Test
+    public void fallbackDecodeRunsOnTheFallbackExecutor() {
+        final FakeDecoder primary = new FakeDecoder("primary", true);
+        final FakeDecoder fallback = new FakeDecoder("fallback", false);
+        final List<Runnable> posted = new ArrayList<>();
+        final FallbackQrDecoder decoder = new FallbackQrDecoder(primary, fallback, posted::add);
+
+        decoder.decode(FRAME, IGNORED);
+        assertEquals(0, fallback.mCalls);
+
+        posted.get(0).run();
+        assertEquals(1, fallback.mCalls);
+    }
+
+    private static class FakeDecoder implements QrDecoder {
+
+        private final String mName;
+        private boolean mFail;
+        private int mCalls;
+
+        FakeDecoder(@NonNull final String name, final boolean fail) {
+            mName = name;
+            mFail = fail;
+        }
+
+        @NonNull
+        @Override
+        public String getName() {
+            return mName;
+        }
+
+        @Override
+        public void decode(@NonNull LuminanceFrame frame, @NonNull Callback callback) {
+            mCalls++;
+            if (mFail) {
+                callback.onError(new IllegalStateException(mName + " failed"));
+            } else {
+                callback.onDecoded(Collections.emptyList());
+            }
+        }
+
+        @Override
+        public void close() {
+        }
+
+    }
+
+}
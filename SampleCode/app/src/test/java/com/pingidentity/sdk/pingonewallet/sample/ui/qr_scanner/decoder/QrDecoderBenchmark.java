@@ -0,0 +1,43 @@
+package com.pingidentity.sdk.pingonewallet.sample.ui.qr_scanner.decoder;
+
+import static org.junit.Assume.assumeTrue;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Run with: ./gradlew :app:testDebugUnitTest --tests '*QrDecoderBenchmark' -DqrBenchmark=true
+// ML Kit needs Play services, so it is compared against ZXing in QrDecoderBenchmarkInstrumentedTest.
+public class QrDecoderBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASURED_ITERATIONS = 20;
+
+    @Test
+    public void benchmarkJvmEngines() {
+        assumeTrue("Benchmark runs only when -DqrBenchmark=true", Boolean.getBoolean("qrBenchmark"));
+        final List<QrFixtures.Fixture> fixtures = QrFixtures.all();
+        final ZxingQrDecoder decoder = new ZxingQrDecoder();
+        System.out.println(String.format("%-28s %-8s %8s %8s %8s", "fixture", "engine", "success", "p50 us", "p90 us"));
+        for (QrFixtures.Fixture fixture : fixtures) {
+            for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                decoder.decode(fixture.frame);
+            }
+            final long[] samples = new long[MEASURED_ITERATIONS];
+            int successes = 0;
+            for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+                final long start = System.nanoTime();
+                final List<QrResult> results = decoder.decode(fixture.frame);
+                samples[i] = (System.nanoTime() - start) / 1000;
+                if (!results.isEmpty() && fixture.expectedText.equals(results.get(0).getRawValue())) {
+                    successes++;
+                }
+            }
+            Arrays.sort(samples);
+            System.out.println(String.format("%-28s %-8s %7d%% %8d %8d", fixture.name, decoder.getName(),
+                    successes * 100 / MEASURED_ITERATIONS, samples[MEASURED_ITERATIONS / 2], samples[MEASURED_ITERATIONS * 9 / 10]));
+        }
+    }
+
+}
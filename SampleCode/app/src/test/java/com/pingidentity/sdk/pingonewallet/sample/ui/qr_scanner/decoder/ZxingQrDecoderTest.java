@@ -0,0 +1,49 @@
+package com.pingidentity.sdk.pingonewallet.sample.ui.qr_scanner.decoder;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.List;
+
+public class ZxingQrDecoderTest {
+
+    private final ZxingQrDecoder decoder = new ZxingQrDecoder();
+
+    @Test
+    public void decodesEveryFixture() {
+        for (QrFixtures.Fixture fixture : QrFixtures.all()) {
+            final List<QrResult> results = decoder.decode(fixture.frame);
+            assertEquals(fixture.name, 1, results.size());
+            assertEquals(fixture.name, fixture.expectedText, results.get(0).getRawValue());
+        }
+    }
+
+    @Test
+    public void reportsNothingForAnEmptyFrame() {
+        final LuminanceFrame blank = new LuminanceFrame(new byte[320 * 240], 320, 240, 0);
+        assertTrue(decoder.decode(blank).isEmpty());
+    }
+
+    @Test
+    public void boundsOfASensorRotatedFrameMatchTheUprightFrame() {
+        final LuminanceFrame upright = QrFixtures.frame(QrFixtures.SHORT_REQUEST, 640, 480, 5, 20, 235);
+        final QrResult uprightResult = decoder.decode(upright).get(0);
+        final QrResult rotatedResult = decoder.decode(QrFixtures.rotate90(upright)).get(0);
+        assertEquals(uprightResult.getLeft(), rotatedResult.getLeft(), 2);
+        assertEquals(uprightResult.getTop(), rotatedResult.getTop(), 2);
+        assertEquals(uprightResult.getRight(), rotatedResult.getRight(), 2);
+        assertEquals(uprightResult.getBottom(), rotatedResult.getBottom(), 2);
+    }
+
+    @Test
+    public void mapsSensorPointsToUprightCoordinates() {
+        final LuminanceFrame frame = new LuminanceFrame(new byte[640 * 480], 640, 480, 90);
+        assertArrayEquals(new int[]{470, 100}, ZxingQrDecoder.toUpright(100, 10, frame));
+        final LuminanceFrame flipped = new LuminanceFrame(new byte[640 * 480], 640, 480, 180);
+        assertArrayEquals(new int[]{540, 470}, ZxingQrDecoder.toUpright(100, 10, flipped));
+    }
+
+}
@@ -0,0 +1,159 @@
+package com.pingidentity.sdk.pingonewallet.sample.ui.qr_scanner.multipart;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class MultipartQrCodecTest {
+
+    private static final String REQUEST = buildRequest(2400);
+
+    @Test
+    public void roundTripsInOrder() {
+        final MultipartQrEncoder encoder = new MultipartQrEncoder(REQUEST, 200);
+        final MultipartQrDecoder decoder = new MultipartQrDecoder();
+        for (int i = 0; i < encoder.getSeqLen(); i++) {
+            decoder.receivePart(encoder.nextPart());
+        }
+        assertTrue(decoder.isComplete());
+        assertEquals(REQUEST, decoder.getResultString());
+    }
+
+    @Test
+    public void singlePartMessage() {
+        final MultipartQrEncoder encoder = new MultipartQrEncoder("openid-vc://?request_uri=https://example.com/r/1", 200);
+        assertTrue(encoder.isSinglePart());
+        final MultipartQrDecoder decoder = new MultipartQrDecoder();
+        assertTrue(decoder.receivePart(encoder.nextPart()));
+        assertEquals("openid-vc://?request_uri=https://example.com/r/1", decoder.getResultString());
+    }
+
+    @Test
+    public void completesFromFountainPartsAfterHeavyLoss() {
+        final Random random = new Random(11);
+        for (int run = 0; run < 20; run++) {
+            final MultipartQrEncoder encoder = new MultipartQrEncoder(REQUEST, 150);
+            final MultipartQrDecoder decoder = new MultipartQrDecoder();
+            int sent = 0;
+            while (!decoder.isComplete() && sent < encoder.getSeqLen() * 10) {
+                final String part = encoder.nextPart();
+                sent++;
+                // A camera misses about half of the frames of an animated code
+                if (random.nextBoolean()) {
+                    decoder.receivePart(part);
+                }
+            }
+            assertTrue("run " + run + " did not complete", decoder.isComplete());
+            assertEquals(REQUEST, decoder.getResultString());
+        }
+    }
+
+    @Test
+    public void completesFromMixedPartsOnly() {
+        final MultipartQrEncoder encoder = new MultipartQrEncoder(REQUEST, 300);
+        final MultipartQrDecoder decoder = new MultipartQrDecoder();
+        int seqNum = encoder.getSeqLen();
+        while (!decoder.isComplete() && seqNum < encoder.getSeqLen() * 20) {
+            seqNum++;
+            decoder.receivePart(encoder.createPart(seqNum).format());
+        }
+        assertEquals(REQUEST, decoder.getResultString());
+    }
+
+    @Test
+    public void acceptsPartsOutOfOrderAndIgnoresDuplicates() {
+        final MultipartQrEncoder encoder = new MultipartQrEncoder(REQUEST, 250);
+        final List<String> parts = new ArrayList<>();
+        for (int i = 0; i < encoder.getSeqLen(); i++) {
+            parts.add(encoder.nextPart());
+        }
+        Collections.shuffle(parts, new Random(3));
+        final MultipartQrDecoder decoder = new MultipartQrDecoder();
+        assertTrue(decoder.receivePart(parts.get(0)));
+        assertFalse(decoder.receivePart(parts.get(0)));
+        float lastProgress = decoder.getProgress();
+        for (String part : parts) {
+            decoder.receivePart(part);
+            assertTrue(decoder.getProgress() >= lastProgress);
+            lastProgress = decoder.getProgress();
+        }
+        assertEquals(1f, decoder.getProgress(), 0f);
+        assertEquals(REQUEST, decoder.getResultString());
+    }
+
+    @Test
+    public void restartsWhenAnotherSequenceAppears() {
+        final MultipartQrEncoder first = new MultipartQrEncoder(REQUEST, 200);
+        final MultipartQrEncoder second = new MultipartQrEncoder(buildRequest(1800), 200);
+        final MultipartQrDecoder decoder = new MultipartQrDecoder();
+        decoder.receivePart(first.nextPart());
+        decoder.receivePart(first.nextPart());
+        for (int i = 0; i < second.getSeqLen(); i++) {
+            decoder.receivePart(second.nextPart());
+        }
+        assertEquals(buildRequest(1800), decoder.getResultString());
+    }
+
+    @Test
+    public void rejectsMalformedAndForeignValues() {
+        final MultipartQrDecoder decoder = new MultipartQrDecoder();
+        assertFalse(decoder.receivePart("openid-vc://?request_uri=https://example.com"));
+        assertFalse(decoder.receivePart("P1MQ/1-3/100/ZZZZ/AAAA"));
+        assertFalse(decoder.receivePart("P1MQ/1-3/100/00000000/A1A"));
+        assertFalse(decoder.isComplete());
+        assertNull(decoder.getResult());
+    }
+
+    @Test
+    public void corruptedPayloadFailsTheChecksum() {
+        final MultipartQrEncoder encoder = new MultipartQrEncoder(REQUEST, 400);
+        final MultipartQrDecoder decoder = new MultipartQrDecoder();
+        for (int seqNum = 1; seqNum <= encoder.getSeqLen(); seqNum++) {
+            final MultipartQrPart part = encoder.createPart(seqNum);
+            if (seqNum == 2) {
+                part.getData()[0] ^= 0x01;
+            }
+            decoder.receivePart(part.format());
+        }
+        assertFalse(decoder.isComplete());
+        assertTrue(decoder.isFailed());
+    }
+
+    @Test
+    public void partsUseOnlyQrAlphanumericCharacters() {
+        final MultipartQrEncoder encoder = new MultipartQrEncoder(REQUEST, 200);
+        for (int i = 0; i < encoder.getSeqLen() * 2; i++) {
+            assertTrue(encoder.nextPart().matches("[0-9A-Z $%*+\\-./:]+"));
+        }
+    }
+
+    @Test
+    public void base32RoundTrips() {
+        final Random random = new Random(5);
+        for (int length = 1; length < 40; length++) {
+            final byte[] bytes = new byte[length];
+            random.nextBytes(bytes);
+            assertArrayEquals(bytes, MultipartQrPart.base32Decode(MultipartQrPart.base32Encode(bytes)));
+        }
+    }
+
+    private static String buildRequest(int length) {
+        final StringBuilder builder = new StringBuilder("openid-vc://?request=");
+        final Random random = new Random(length);
+        final String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_.";
+        while (builder.length() < length) {
+            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return builder.toString();
+    }
+
+}